@@ -0,0 +1,57 @@
+package com.sparta.willbe.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// 토큰이 붙은 요청 하나의 토큰 검증 비용
+// before : 필터 validateToken + 인터셉터 validateToken 2번 (로그용 포함) + getUserPk = JWS 파싱 4번,
+//          매번 Jwts.parser() 를 새로 만들고 Base64 키를 다시 푼다
+// after  : 만들어 둔 JwtParser 로 처음 보는 토큰만 파싱 1번, 이후 요청은 sha-256 캐시 조회
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "4dW2Ri6fZjsSjgldfYe8soispI6QoqCnvi8oewMS2rvbeW5Swo";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String base64Secret;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(null, null, SECRET, "default", "", 10000);
+        base64Secret = Base64.getEncoder().encodeToString(SECRET.getBytes());
+
+        token = jwtTokenProvider.createAccessToken("benchmark@test.com");
+        jwtTokenProvider.getClaims(token);
+    }
+
+    @Benchmark
+    public void before(Blackhole blackhole) {
+        for (int i = 0; i < 4; i++) {
+            blackhole.consume(Jwts.parser().setSigningKey(base64Secret).parseClaimsJws(token).getBody());
+        }
+    }
+
+    @Benchmark
+    public Claims afterFirstRequest() {
+        return jwtTokenProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims afterCached() {
+        return jwtTokenProvider.getClaims(token);
+    }
+}
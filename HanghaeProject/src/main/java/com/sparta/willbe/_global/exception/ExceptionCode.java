@@ -29,6 +29,8 @@ public enum ExceptionCode {
     EMAIL_CONFLICT(HttpStatus.CONFLICT, "R004","이미 존재하는 이메일 입니다."),
 
     TOKEN_INVALID(HttpStatus.UNAUTHORIZED,"R005","유효한 토큰이 아닙니다."),
+    REFRESH_TOKEN_INVALID(HttpStatus.UNAUTHORIZED,"R006","유효한 refresh 토큰이 아닙니다. 다시 로그인 해주세요."),
+    REFRESH_TOKEN_REUSED(HttpStatus.UNAUTHORIZED,"R007","이미 사용된 refresh 토큰입니다. 다시 로그인 해주세요."),
 
     // Interview
     INTERVIEW_FORBIDDEN_GET(HttpStatus.FORBIDDEN,"I301","현재 사용자는 해당 인터뷰를 조회 할 수 없습니다."),
@@ -37,6 +39,10 @@ public enum ExceptionCode {
     INTERVIEW_FORBIDDEN_DELETE(HttpStatus.FORBIDDEN,"I304","현재 사용자는 해당 인터뷰를 삭제 할 수 없습니다."),
     INTERVIEW_NOT_FOUND(HttpStatus.NOT_FOUND, "I401", "해당 인터뷰가 존재하지 않습니다."),
     DRAFT_NOT_FOUND(HttpStatus.NOT_FOUND,"I402","해당 인터뷰의 초안이 존재하지 않습니다."),
+    PREVIEW_NOT_FOUND(HttpStatus.NOT_FOUND, "I403", "해당 인터뷰의 미리보기 이미지가 존재하지 않습니다."),
+
+    // Home
+    HOME_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "H501", "홈 화면을 불러오지 못했습니다. 잠시 후 다시 시도해주세요."),
 
     // Question
     QUESTION_NOT_FOUND(HttpStatus.NOT_FOUND, "Q401", "해당 면접 질문이 존재하지 않습니다."),
@@ -48,6 +54,12 @@ public enum ExceptionCode {
     //Pagination
     PAGINATION_CATEGORY_INVALID(HttpStatus.BAD_REQUEST,"P001","잘못된 카테고리를 입력했습니다."),
     PAGINATION_PER_INVALID(HttpStatus.BAD_REQUEST,"P002","한 페이지 단위(per)는 0보다 커야 합니다."),
+    PAGINATION_CURSOR_INVALID(HttpStatus.BAD_REQUEST,"P003","잘못된 cursor 입니다."),
+
+    // Likes
+    LIKES_COUNT_INVALID(HttpStatus.BAD_REQUEST, "L001", "좋아요 수는 0보다 커야 합니다."),
+    LIKES_TIME_INVALID(HttpStatus.BAD_REQUEST, "L002", "좋아요 시간은 0초 이상이어야 합니다."),
+    LIKES_BATCH_SIZE_INVALID(HttpStatus.BAD_REQUEST, "L003", "한 번에 보낼 수 있는 좋아요 개수를 벗어났습니다."),
 
     // Comment
     NOT_FOUND_COMMENT(HttpStatus.NOT_FOUND,"C101", "해당 댓글은 존재하지 않습니다."),
@@ -63,6 +75,9 @@ public enum ExceptionCode {
     UNABLE_UPLOAD_TO_S3(HttpStatus.INTERNAL_SERVER_ERROR, "F104","프로필 이미지 업로드가 실패하였습니다."),
     UNABLE_SAVE_PROFILE_IMAGE(HttpStatus.INTERNAL_SERVER_ERROR,"F105", "프로필 이미지 저장 또는 업로드가 실패하였습니다."),
 
+    // Transcode
+    TRANSCODE_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "T401", "해당 영상 변환 작업이 존재하지 않습니다."),
+
 
     ;
 
@@ -0,0 +1,15 @@
+package com.sparta.willbe._global.pagination.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CursorResponseDto {
+    private Long per;
+    // 다음 페이지 요청에 그대로 넘긴다, 마지막 페이지면 null
+    private String nextCursor;
+    private Boolean isLastPage;
+    // 캐시된 값이라 조금 늦을 수 있다
+    private Long approximateTotalCounts;
+}
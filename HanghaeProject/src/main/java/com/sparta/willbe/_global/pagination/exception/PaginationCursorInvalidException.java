@@ -0,0 +1,10 @@
+package com.sparta.willbe._global.pagination.exception;
+
+import com.sparta.willbe._global.exception.BusinessException;
+import com.sparta.willbe._global.exception.ExceptionCode;
+
+public class PaginationCursorInvalidException extends BusinessException {
+    public PaginationCursorInvalidException() {
+        super(ExceptionCode.PAGINATION_CURSOR_INVALID);
+    }
+}
@@ -0,0 +1,112 @@
+package com.sparta.willbe.admin.controller;
+
+import com.sparta.willbe.admin.exception.AdminForbiddenException;
+import com.sparta.willbe.likes.service.LikesRateLimiter;
+import com.sparta.willbe.mail.Service.MailOutboxService;
+import com.sparta.willbe.mail.model.MailOutboxStatus;
+import com.sparta.willbe.s3.PresignedUrlCache;
+import com.sparta.willbe.security.PrincipalCache;
+import com.sparta.willbe.transcode.dto.TranscodeJobResponseDto;
+import com.sparta.willbe.transcode.model.TranscodeStatus;
+import com.sparta.willbe.transcode.service.TranscodeJobService;
+import com.sparta.willbe.user.exception.UserUnauthorizedException;
+import com.sparta.willbe.user.model.User;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+public class AdminController {
+    private final PresignedUrlCache presignedUrlCache;
+    private final TranscodeJobService transcodeJobService;
+    private final LikesRateLimiter likesRateLimiter;
+    private final PrincipalCache principalCache;
+    private final MailOutboxService mailOutboxService;
+
+    @GetMapping("/api/admin/stats/presigned-urls")
+    @ApiOperation(value = "presigned URL 캐시 통계")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    public ResponseEntity<PresignedUrlCache.Stats> presignedUrlStats(@AuthenticationPrincipal User user) {
+        checkAdmin(user);
+        return new ResponseEntity<>(presignedUrlCache.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/api/admin/stats/likes-rate")
+    @ApiOperation(value = "좋아요 요청 제한 통계")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    public ResponseEntity<LikesRateLimiter.Stats> likesRateStats(@AuthenticationPrincipal User user) {
+        checkAdmin(user);
+        return new ResponseEntity<>(likesRateLimiter.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/api/admin/stats/principals")
+    @ApiOperation(value = "로그인 유저 캐시 통계 (misses = 인증 때문에 나간 user 조회 수)")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    public ResponseEntity<PrincipalCache.Stats> principalStats(@AuthenticationPrincipal User user) {
+        checkAdmin(user);
+        return new ResponseEntity<>(principalCache.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/api/admin/transcode/jobs")
+    @ApiOperation(value = "영상 변환 작업 목록")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    public ResponseEntity<Page<TranscodeJobResponseDto>> transcodeJobs(@AuthenticationPrincipal User user,
+                                                                       @RequestParam(required = false) TranscodeStatus status,
+                                                                       @RequestParam(defaultValue = "1") int page,
+                                                                       @RequestParam(defaultValue = "20") int per) {
+        checkAdmin(user);
+        PageRequest pageable = PageRequest.of(Math.max(page - 1, 0), Math.max(per, 1), Sort.by(Sort.Direction.DESC, "id"));
+        return new ResponseEntity<>(transcodeJobService.getJobs(status, pageable), HttpStatus.OK);
+    }
+
+    @GetMapping("/api/admin/stats/transcode")
+    @ApiOperation(value = "영상 변환 작업 상태별 개수")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    public ResponseEntity<Map<TranscodeStatus, Long>> transcodeStats(@AuthenticationPrincipal User user) {
+        checkAdmin(user);
+        return new ResponseEntity<>(transcodeJobService.countByStatus(), HttpStatus.OK);
+    }
+
+    @GetMapping("/api/admin/stats/mail-outbox")
+    @ApiOperation(value = "메일 아웃박스 상태별 개수 (DEAD = 재시도 초과)")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    public ResponseEntity<Map<MailOutboxStatus, Long>> mailOutboxStats(@AuthenticationPrincipal User user) {
+        checkAdmin(user);
+        return new ResponseEntity<>(mailOutboxService.countByStatus(), HttpStatus.OK);
+    }
+
+    @PostMapping("/api/admin/transcode/jobs/{jobId}/retry")
+    @ApiOperation(value = "영상 변환 작업 재시도")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    public ResponseEntity<TranscodeJobResponseDto> retryTranscodeJob(@AuthenticationPrincipal User user, @PathVariable Long jobId) {
+        checkAdmin(user);
+        log.info("UID {} 영상 변환 작업 {} 재시도", user.getId(), jobId);
+        return new ResponseEntity<>(transcodeJobService.retry(jobId), HttpStatus.OK);
+    }
+
+    private void checkAdmin(User user) {
+        if (user == null) {
+            throw new UserUnauthorizedException();
+        }
+        if (!user.isAdmin()) {
+            log.error("UID {} 관리자 권한 없음", user.getId());
+            throw new AdminForbiddenException();
+        }
+    }
+}
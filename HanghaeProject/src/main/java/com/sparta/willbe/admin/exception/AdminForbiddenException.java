@@ -0,0 +1,10 @@
+package com.sparta.willbe.admin.exception;
+
+import com.sparta.willbe._global.exception.BusinessException;
+import com.sparta.willbe._global.exception.ExceptionCode;
+
+public class AdminForbiddenException extends BusinessException {
+    public AdminForbiddenException() {
+        super(ExceptionCode.HANDLE_ACCESS_DENIED);
+    }
+}
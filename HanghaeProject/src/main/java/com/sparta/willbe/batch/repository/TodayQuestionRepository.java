@@ -2,6 +2,7 @@ package com.sparta.willbe.batch.repository;
 
 
 import com.sparta.willbe.batch.tables.TodayQuestion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +14,7 @@ public interface TodayQuestionRepository extends JpaRepository<TodayQuestion, Lo
     TodayQuestion save(TodayQuestion batch_todayQuestion);
     void deleteAll();
     List<TodayQuestion> findAll();
+    @EntityGraph(attributePaths = {"question"})
     List<TodayQuestion> findTop3ByOrderByCreatedAtDesc();
 }
 
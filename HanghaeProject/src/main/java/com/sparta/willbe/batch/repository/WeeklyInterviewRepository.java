@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -30,7 +31,20 @@ public interface WeeklyInterviewRepository extends JpaRepository<WeeklyInterview
 
     WeeklyInterview findTopByInterviewIdOrderByIdDesc(Long interviewId);
 
+    // 인터뷰별 가장 최신 위클리 1개씩
+    @Query("SELECT w FROM weekly_interview w WHERE w.id IN " +
+            "(SELECT max(w2.id) FROM weekly_interview w2 WHERE w2.interviewId IN ?1 GROUP BY w2.interviewId)")
+    List<WeeklyInterview> findLatestByInterviewIdIn(Collection<Long> interviewIds);
+
     List<WeeklyInterview> findByCreatedAtBetween(LocalDateTime minus, LocalDateTime now);
 
+    // 홈 주간 면접왕: 위클리 row + 인터뷰 + 작성자 + 질문을 한 번에 ([0] WeeklyInterview, [1] Interview)
+    // 인터뷰가 지워졌거나 탈퇴한 회원 것은 빠진다 (등수 계산에서 건너뛰던 것과 같음)
+    @Query("SELECT w, i FROM weekly_interview w, Interview i " +
+            "JOIN FETCH i.user u JOIN FETCH i.question LEFT JOIN FETCH i.likes " +
+            "WHERE i.id = w.interviewId AND w.createdAt BETWEEN ?1 AND ?2 AND u.isDeleted = false " +
+            "ORDER BY w.id")
+    List<Object[]> findWithInterviewByCreatedAtBetween(LocalDateTime minus, LocalDateTime now);
+
     List<WeeklyInterview> findByWeeklyBadgeContains(String twoWeeksAgo);
 }
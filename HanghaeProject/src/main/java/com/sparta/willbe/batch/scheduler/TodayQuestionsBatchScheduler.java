@@ -2,6 +2,7 @@ package com.sparta.willbe.batch.scheduler;
 
 
 import com.sparta.willbe.batch.config.TodayQuestionsBatchConfig;
+import com.sparta.willbe.home.service.HomeChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.JobParameter;
@@ -11,6 +12,7 @@ import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -22,6 +24,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TodayQuestionsBatchScheduler {
     private final JobLauncher jobLauncher;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final TodayQuestionsBatchConfig todayQuestionsBatchConfig;
 
     @Scheduled(cron = "0 0 1 * * *")
@@ -32,6 +35,7 @@ public class TodayQuestionsBatchScheduler {
 
         try {
             jobLauncher.run(todayQuestionsBatchConfig.jobTodayQuestions(), jobParameters);
+            applicationEventPublisher.publishEvent(new HomeChangedEvent("today questions batch"));
         } catch (JobExecutionAlreadyRunningException |
                 JobInstanceAlreadyCompleteException |
                 JobParametersInvalidException |
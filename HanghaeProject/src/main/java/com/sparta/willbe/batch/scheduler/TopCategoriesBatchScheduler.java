@@ -1,6 +1,7 @@
 package com.sparta.willbe.batch.scheduler;
 
 import com.sparta.willbe.batch.config.TopCategoriesBatchConfig;
+import com.sparta.willbe.home.service.HomeChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.JobParameter;
@@ -10,6 +11,7 @@ import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -21,6 +23,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TopCategoriesBatchScheduler {
     private final JobLauncher jobLauncher;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final TopCategoriesBatchConfig topCategoriesBatchConfig;
 
     @Scheduled(cron = "0 0 0/3 * * *")
@@ -31,6 +34,7 @@ public class TopCategoriesBatchScheduler {
 
         try {
             jobLauncher.run(topCategoriesBatchConfig.jobTopCategoies(), jobParameters);
+            applicationEventPublisher.publishEvent(new HomeChangedEvent("top categories batch"));
         } catch (JobExecutionAlreadyRunningException |
                 JobInstanceAlreadyCompleteException |
                 JobParametersInvalidException |
@@ -1,5 +1,6 @@
 package com.sparta.willbe.batch.scheduler;
 
+import com.sparta.willbe.home.service.HomeChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameter;
@@ -10,6 +11,7 @@ import org.springframework.batch.core.repository.JobExecutionAlreadyRunningExcep
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +28,9 @@ public class WeeklyInterviewScheduler {
     @Autowired
     private JobLauncher jobLauncher;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
     //주간 면접왕
     //Mon 00:00:00 매주 -> 재실행시 실행되므로, Now() -> 날짜계산 해서 쿼리
     @Scheduled(cron = "0 0 0 ? * MON")
@@ -36,6 +41,7 @@ public class WeeklyInterviewScheduler {
 
         try {
             jobLauncher.run(weeklyInterviewJob, jobParameters);
+            applicationEventPublisher.publishEvent(new HomeChangedEvent("weekly interview batch"));
             log.info("WEEKLY INTERVIEW SCHEDULER >> 배치 실행됨 >> Time: {}", Calendar.getInstance().getTime());
         } catch (JobExecutionAlreadyRunningException |
                 JobInstanceAlreadyCompleteException |
@@ -89,7 +89,8 @@ public class CommentService {
                 }
             }
         }
-        int totalCounts = commentRepository.countByInterview_IdAndUser_IsDeletedFalse(interviewId); //총댓글수(대댓글 포함)
+        Long commentCount = interviewRepository.findCommentCountById(interviewId); //총댓글수(대댓글 포함)
+        int totalCounts = commentCount == null ? 0 : commentCount.intValue();
         int totalPages = commentListPage.getTotalPages();
         int totalCountsInThisPage = commentListPage.getNumberOfElements();
 
@@ -141,12 +142,14 @@ public class CommentService {
 
             comment = new Comment(requestDto, user, interview);
             commentRepository.save(comment);
+            interviewRepository.addCommentCount(interview.getId(), 1);
         }else if(requestDto.getRootName().equals("comment")){
             Comment rootComment = commentRepository.findById(requestDto.getRootId()).orElseThrow(
                     () -> new CommentNotFoundException());
             Interview interview = rootComment.getInterview();
             comment = new Comment(requestDto, user, interview);
             commentRepository.save(comment);
+            interviewRepository.addCommentCount(interview.getId(), 1);
         }
         return comment;
     }
@@ -196,13 +199,16 @@ public class CommentService {
         }
 
         //부모댓글이면 자식댓글도 삭제
+        int deleted = 1;
         if (comment.getRootName().equals("interview")){
             List<Comment> childCommentList = commentRepository.findByRootIdAndRootName(comment.getId(), "comment");
             for(Comment childComment: childCommentList){
                 commentRepository.deleteById(childComment.getId());
             }
+            deleted += childCommentList.size();
         }
         commentRepository.deleteById(comment.getId());
+        interviewRepository.addCommentCount(comment.getInterview().getId(), -deleted);
         log.info("deleteComment() >> {}번 댓글이 삭제 되었습니다", commentId);
 
         return comment;
@@ -1,7 +1,7 @@
 package com.sparta.willbe.home.controller;
 
 import com.sparta.willbe.home.dto.HomeResponseDto;
-import com.sparta.willbe.home.service.HomeService;
+import com.sparta.willbe.home.service.HomeSnapshotService;
 import com.sparta.willbe.security.jwt.JwtTokenProvider;
 import com.sparta.willbe.user.model.User;
 import com.sparta.willbe.user.repository.UserRepository;
@@ -9,26 +9,42 @@ import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @Slf4j
 @RequiredArgsConstructor
 @Controller
 public class HomeController {
 
-    private final HomeService homeService;
+    private final HomeSnapshotService homeSnapshotService;
     private final JwtTokenProvider jwtTokenProvider;
+
+    //  비로그인은 미리 만든 JSON 을 그대로 (If-None-Match 가 같으면 304), 로그인은 isMine, scrapsMe 만 덮어서
     @GetMapping("/api/home")
     @ApiOperation(value = "메인페이지용 api")
     @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token")
-    public ResponseEntity<HomeResponseDto> home(@AuthenticationPrincipal User users) {
+    public ResponseEntity<?> home(@AuthenticationPrincipal User users,
+                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (users != null) {
+            return new ResponseEntity<HomeResponseDto>(homeSnapshotService.getHome(users), HttpStatus.OK);
+        }
 
-        return new ResponseEntity<HomeResponseDto>(new HomeResponseDto(homeService.getLatestInterview(users),homeService.getWeeklyInterview(users),
-                homeService.getTodayQuestion(),homeService.getTopCatetories()), HttpStatus.OK);
+        HomeSnapshotService.Snapshot snapshot = homeSnapshotService.getSnapshot();
+        if (snapshot.getEtag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getBody());
     }
 
 
@@ -0,0 +1,10 @@
+package com.sparta.willbe.home.exception;
+
+import com.sparta.willbe._global.exception.BusinessException;
+import com.sparta.willbe._global.exception.ExceptionCode;
+
+public class HomeUnavailableException extends BusinessException {
+    public HomeUnavailableException() {
+        super(ExceptionCode.HOME_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sparta.willbe.home.service;
+
+// 홈 화면에 보이는 데이터가 바뀌었을 때 (인터뷰 등록/수정/삭제, 배치 완료 등) -> HomeSnapshotService 가 다시 만든다
+public class HomeChangedEvent {
+    private final String reason;
+
+    public HomeChangedEvent(String reason) {
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
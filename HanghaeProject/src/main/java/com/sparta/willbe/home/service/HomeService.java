@@ -10,20 +10,17 @@ import com.sparta.willbe.interview.exception.InterviewNotFoundException;
 import com.sparta.willbe.interview.model.Interview;
 import com.sparta.willbe.interview.repository.InterviewRepository;
 import com.sparta.willbe.interview.service.InterviewService;
-import com.sparta.willbe.question.exception.QuestionNotFoundException;
-import com.sparta.willbe.question.repostitory.QuestionRepository;
-import com.sparta.willbe.scrap.model.Scrap;
+import com.sparta.willbe.scrap.service.ScrapIds;
 import com.sparta.willbe.user.dto.UserInfoResponseDto;
 import com.sparta.willbe.user.model.User;
-import com.sparta.willbe.user.repository.UserRepository;
 import com.sparta.willbe.batch.tables.TodayQuestion;
 import com.sparta.willbe.comments.dto.CommentResponseDto;
 import com.sparta.willbe.comments.model.Comment;
-import com.sparta.willbe.comments.repository.CommentRepository;
 import com.sparta.willbe.question.dto.QuestionResponseDto;
 import com.sparta.willbe.question.model.Question;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -38,14 +35,12 @@ import java.util.*;
 @AllArgsConstructor
 @Transactional
 public class HomeService {
-    private final UserRepository userRepository;
     private final InterviewService interviewService;
     private final WeeklyInterviewRepository weeklyInterviewRepository;
-    private final QuestionRepository questionRepository;
     private final TodayQuestionRepository batch_todayQuestionRepository;
     private final TopCategoriesRepository batch_topCategoriesRepository;
-    private final CommentRepository commentRepository;
     private final InterviewRepository interviewRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public List<TopCategories> getTopCatetories() {
         List<TopCategories> topCategories = batch_topCategoriesRepository.findTop6ByOrderByCreatedAtDesc();
@@ -56,9 +51,8 @@ public class HomeService {
         List<TodayQuestion> todaysQuestions = batch_todayQuestionRepository.findTop3ByOrderByCreatedAtDesc();
         List<QuestionResponseDto> todaysQuestionsDto = new ArrayList<>();
         for (TodayQuestion todayQuestion : todaysQuestions) {
-            Question question = questionRepository.findById(todayQuestion.getQuestion().getId()).orElseThrow(
-                    QuestionNotFoundException::new
-            );
+            // question 은 findTop3 에서 같이 가져온다
+            Question question = todayQuestion.getQuestion();
             QuestionResponseDto n = new QuestionResponseDto(new QuestionResponseDto.data(
                     question.getId(),
                     question.getCategory().name(),
@@ -75,22 +69,20 @@ public class HomeService {
         List<InterviewInfoResponseDto.Data> latestInterviewDto = new ArrayList<>();
         Boolean ismine = false;
         Boolean scrapMe = false;
+        ScrapIds userScrapIds = interviewService.getScrapedInterviewIds(user);
 
         for (Interview interview : latstInterview) {
 
             if (user != null) {
-                User loginUser = userRepository.getById(user.getId());
-                ismine = interview.getUser().getEmail() == loginUser.getEmail();
-                Set<Long> userScapId = createUserScrapIds(loginUser);
-                scrapMe = userScapId.contains(interview.getId());
+                ismine = Objects.equals(interview.getUser().getId(), user.getId());
+                scrapMe = userScrapIds.contains(interview.getId());
             }
 
-            int commentsCount = commentRepository.countByInterview_IdAndUser_IsDeletedFalse(interview.getId());
-
             InterviewInfoResponseDto.Data n = InterviewInfoResponseDto.Data.builder()
                     .id(interview.getId())
                     .video(interviewService.getProfileImageUrl(interview.getVideoKey()))
                     .thumbnail(interviewService.getProfileImageUrl(interview.getThumbnailKey()))
+                    .media(InterviewInfoResponseDto.Media.of(interview.getMediaInfo()))
                     .question(new QuestionResponseDto.data(interview.getQuestion().getId(),
                             interview.getQuestion().getCategory().name(),
                             interview.getQuestion().getContents(),
@@ -106,8 +98,8 @@ public class HomeService {
                     .badge(interview.getBadge())
                     .note(interview.getMemo())
                     .scrapsMe(scrapMe)
-                    .scrapsCount((long) (interview.getScraps().size()))
-                    .commentsCount((long) commentsCount)
+                    .scrapsCount(interview.getScrapCount())
+                    .commentsCount(interview.getCommentCount())
                     .likesCount(0L)
                     .isPublic(interview.getIsPublic())
                     .isMine(ismine)
@@ -121,32 +113,23 @@ public class HomeService {
 
     public List<InterviewInfoResponseDto.Data> getWeeklyInterview(User user) {
 
-        List<WeeklyInterview> getInterviews = weeklyInterviewRepository.findByCreatedAtBetween(LocalDateTime.now().minus(1, ChronoUnit.WEEKS), LocalDateTime.now());
+        // 지워진 인터뷰, 탈퇴한 회원 것은 쿼리에서 빠진다
+        List<Object[]> getInterviews = weeklyInterviewRepository.findWithInterviewByCreatedAtBetween(LocalDateTime.now().minus(1, ChronoUnit.WEEKS), LocalDateTime.now());
         List<InterviewInfoResponseDto.Data> weeklyInterview = new ArrayList<>();
         Boolean ismine = false;
         Boolean scrapMe = false;
+        ScrapIds userScrapIds = interviewService.getScrapedInterviewIds(user);
         int ranking = 0;
-        for (WeeklyInterview interview : getInterviews) {
-
-            Interview interviewById = interviewRepository.findById(interview.getInterviewId())
-                    .orElse(null);
-            if (interviewById == null) {
-                continue;
-            }
-            else if(interviewById.getUser().getIsDeleted()){
-                continue;
-            }
+        for (Object[] row : getInterviews) {
+            WeeklyInterview interview = (WeeklyInterview) row[0];
+            Interview interviewById = (Interview) row[1];
             ranking++;
 
             if (user != null) {
-                User loginUser = userRepository.getById(user.getId());
-                ismine = interviewById.getUser().getEmail() == loginUser.getEmail();
-                Set<Long> userScapId = createUserScrapIds(loginUser);
-                scrapMe = userScapId.contains(interview.getId());
+                ismine = Objects.equals(interviewById.getUser().getId(), user.getId());
+                scrapMe = userScrapIds.contains(interviewById.getId());
             }
 
-            int commentsCount = commentRepository.countByInterview_IdAndUser_IsDeletedFalse(interviewById.getId());
-
             String weeklyBadge = interview.getWeeklyBadge();
             String[] weekKorean = {"첫째주", "둘째주", "셋째주", "넷째주", "다섯째주"};
 
@@ -157,6 +140,7 @@ public class HomeService {
                     .id(interviewById.getId())
                     .video(interviewService.getProfileImageUrl(interviewById.getVideoKey()))
                     .thumbnail(interviewService.getProfileImageUrl(interviewById.getThumbnailKey()))
+                    .media(InterviewInfoResponseDto.Media.of(interviewById.getMediaInfo()))
                     .question(new QuestionResponseDto.data(interviewById.getQuestion().getId(),
                             interviewById.getQuestion().getCategory().name(),
                             interviewById.getQuestion().getContents(),
@@ -172,7 +156,7 @@ public class HomeService {
                     .note(interviewById.getMemo())
                     .scrapsMe(scrapMe)
                     .scrapsCount(interview.getScrapCount())
-                    .commentsCount((long) commentsCount)
+                    .commentsCount(interviewById.getCommentCount())
                     .likesCount(0L)
                     .isPublic(interviewById.getIsPublic())
                     .isMine(ismine)
@@ -184,36 +168,18 @@ public class HomeService {
         return weeklyInterview;
     }
 
-    public Set<Long> createUserScrapIds(User user) {
-        Set<Long> userScrapsId = new HashSet<>();
-        if (user != null) {
-            User loginUser = userRepository.getById(user.getId());
-            for (Scrap scrap : loginUser.getScraps()) {
-                userScrapsId.add(scrap.getInterview().getId());
-            }
-        }
-        return userScrapsId;
-
-
-    }
 
     @Async
     public void fixWeeklyInterviewRank() {
-        List<WeeklyInterview> getInterviews = weeklyInterviewRepository.findByCreatedAtBetween(LocalDateTime.now().minus(1, ChronoUnit.WEEKS), LocalDateTime.now());
+        List<Object[]> getInterviews = weeklyInterviewRepository.findWithInterviewByCreatedAtBetween(LocalDateTime.now().minus(1, ChronoUnit.WEEKS), LocalDateTime.now());
 
         int ranking = 0;
-        for (WeeklyInterview weeklyInterview : getInterviews) {
+        for (Object[] row : getInterviews) {
+            WeeklyInterview weeklyInterview = (WeeklyInterview) row[0];
+            Interview interviewById = (Interview) row[1];
 
             //인터뷰 뱃지 골드,실버,브론즈 저장
             String[] badge = {"Gold", "Silver", "Bronze", "NONE", "NONE"};
-            Interview interviewById = interviewRepository.findById(weeklyInterview.getInterviewId())
-                    .orElse(null);
-            if (interviewById == null) {
-                continue;
-            }
-            else if(interviewById.getUser().getIsDeleted()){
-                continue;
-            }
             ranking++;
 
 
@@ -224,5 +190,7 @@ public class HomeService {
             interviewRepository.save(interviewById);
             weeklyInterview.setWeeklyBadge(weeklyBadge);
         }
+        // 인터뷰/회원 삭제 뒤에 불린다
+        applicationEventPublisher.publishEvent(new HomeChangedEvent("weekly rank fixed"));
     }
 }
@@ -0,0 +1,130 @@
+package com.sparta.willbe.home.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.willbe.home.dto.HomeResponseDto;
+import com.sparta.willbe.home.exception.HomeUnavailableException;
+import com.sparta.willbe.interview.dto.InterviewInfoResponseDto;
+import com.sparta.willbe.interview.service.InterviewService;
+import com.sparta.willbe.scrap.service.ScrapIds;
+import com.sparta.willbe.user.model.User;
+import io.sentry.Sentry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 비로그인 홈 화면을 미리 만들어서 JSON byte 로 들고 있는다 (ETag 포함).
+ * HomeChangedEvent 가 오면 잠시 모았다가 다시 만들고, 그 외에도 refresh-ms 마다 (presigned URL 만료 전) 다시 만든다.
+ * 로그인 유저는 같은 스냅샷에 isMine, scrapsMe 만 덮어쓴다.
+ * 스크랩 수, 댓글 수가 바뀌는 것은 HomeChangedEvent 를 내지 않으므로 스냅샷의 이 값들은 최대 refresh-ms 만큼 늦다.
+ * 아직 한 번도 만들지 못했으면 (시작할 때 DB 장애 등) 요청마다 다시 시도하고, 그래도 안 되면 HomeUnavailableException.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomeSnapshotService {
+    private final HomeService homeService;
+    private final InterviewService interviewService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${home.snapshot.refresh-ms:300000}")
+    private long refreshMillis;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean dirty;
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        if (current == null) {
+            throw new HomeUnavailableException();
+        }
+        return current;
+    }
+
+    //  스냅샷에 로그인 유저 정보만 덮어쓴다 (스냅샷 자체는 바꾸지 않는다)
+    public HomeResponseDto getHome(User user) {
+        HomeResponseDto home = getSnapshot().getHome();
+        ScrapIds scrapIds = interviewService.getScrapedInterviewIds(user);
+        return new HomeResponseDto(overlay(home.getLatestInterviews(), user, scrapIds),
+                overlay(home.getWeeklyInterviews(), user, scrapIds),
+                home.getTodaysQuestions(),
+                home.getTopCategories());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHomeChanged(HomeChangedEvent event) {
+        log.info("HOME SNAPSHOT >> changed ({})", event.getReason());
+        dirty = true;
+    }
+
+    //  바뀐 게 있거나 오래됐으면 다시 만든다 (여러 번 바뀌어도 한 번만)
+    @Scheduled(fixedDelayString = "${home.snapshot.check-interval-ms:1000}")
+    public void refresh() {
+        Snapshot current = snapshot;
+        if (current == null || dirty || System.currentTimeMillis() - current.getBuiltAt() >= refreshMillis) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        dirty = false;
+        try {
+            HomeResponseDto home = new HomeResponseDto(homeService.getLatestInterview(null),
+                    homeService.getWeeklyInterview(null),
+                    homeService.getTodayQuestion(),
+                    homeService.getTopCatetories());
+            byte[] body = objectMapper.writeValueAsBytes(home);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            snapshot = new Snapshot(home, body, etag, System.currentTimeMillis());
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 이전 스냅샷을 계속 쓴다
+            dirty = true;
+            log.error("HOME SNAPSHOT BUILD FAIL - {}", e.getMessage());
+            Sentry.captureException(e);
+        }
+    }
+
+    private List<InterviewInfoResponseDto.Data> overlay(List<InterviewInfoResponseDto.Data> interviews, User user, ScrapIds scrapIds) {
+        List<InterviewInfoResponseDto.Data> result = new ArrayList<>(interviews.size());
+        for (InterviewInfoResponseDto.Data interview : interviews) {
+            result.add(interview.toBuilder()
+                    .isMine(interview.getUser() != null && Objects.equals(interview.getUser().getId(), user.getId()))
+                    .scrapsMe(scrapIds.contains(interview.getId()))
+                    .build());
+        }
+        return result;
+    }
+
+    @Getter
+    public static class Snapshot {
+        private final HomeResponseDto home;
+        private final byte[] body;
+        private final String etag;
+        private final long builtAt;
+
+        private Snapshot(HomeResponseDto home, byte[] body, String etag, long builtAt) {
+            this.home = home;
+            this.body = body;
+            this.etag = etag;
+            this.builtAt = builtAt;
+        }
+    }
+}
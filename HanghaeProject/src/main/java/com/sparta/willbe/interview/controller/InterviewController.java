@@ -20,7 +20,9 @@ import org.apache.commons.lang3.EnumUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -75,6 +77,33 @@ public class InterviewController {
         return new ResponseEntity<>(body, HttpStatus.OK);
     }
 
+    // cursor 파라미터가 있으면 keyset 페이지 (첫 페이지는 cursor= 로 비워서)
+    @GetMapping(value = "/api/interviews", params = "cursor")
+    @ApiOperation(value = "인터뷰 전체 조회 (cursor)")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token")
+    public ResponseEntity<InterviewCursorListResponseDto> readInterviewsByCursor(@RequestParam(value = "per", defaultValue = "6") int per,
+                                                                                 @RequestParam(value = "cursor") String cursor,
+                                                                                 @RequestParam(value = "sort", defaultValue = "최신순") String sort,
+                                                                                 @RequestParam(value = "filter", defaultValue = "전체보기") String filter,
+                                                                                 @AuthenticationPrincipal User user) {
+
+        Long loginUserId = user == null ? null : user.getId();
+        log.info("UID " + loginUserId + " READ ALL INTERVIEWS WITH PER " + per + " CURSOR " + cursor + " SORT " + sort + " FILTER " + filter);
+
+        if (per < 1) {
+            log.error("{}(per)는 0보다 커야 합니다.", per);
+            throw new PaginationPerInvalidException();
+        }
+
+        if (filter.equals("전체보기") == false && EnumUtils.isValidEnum(CategoryEnum.class, filter) == false) {
+            log.error("{} 라는 잘못된 카테고리를 입력했습니다.", filter);
+            throw new PaginationCategoryInvalidException();
+        }
+
+        InterviewCursorListResponseDto body = interviewService.readInterviewsByCursor(loginUserId, sort, filter, per, cursor);
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
     @GetMapping("/api/interviews/{interviewId}")
     @ApiOperation(value = "특정 인터뷰 조회")
     @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token")
@@ -86,7 +115,25 @@ public class InterviewController {
         log.info("UID " + loginUserId + " READ INTERVIEW " + interviewId);
 
         InterviewInfoResponseDto body = interviewService.readOneInterview(interviewId, loginUserId);
-        return new ResponseEntity<>(body, HttpStatus.OK);
+
+        HttpHeaders headers = new HttpHeaders();
+        if ("hls".equals(body.getInterview().getVideoType())) {
+            for (ResponseCookie cookie : interviewService.getHlsCookies(interviewId)) {
+                headers.add(HttpHeaders.SET_COOKIE, cookie.toString());
+            }
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/api/interviews/{interviewId}/preview.vtt", produces = "text/vtt;charset=UTF-8")
+    @ApiOperation(value = "인터뷰 탐색 미리보기 (WebVTT 썸네일 트랙)")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token")
+    public ResponseEntity<String> readPreviewVtt(@PathVariable Long interviewId,
+                                                 @AuthenticationPrincipal User user) {
+
+        Long loginUserId = user == null ? null : user.getId();
+
+        return new ResponseEntity<>(interviewService.getPreviewVtt(interviewId, loginUserId), HttpStatus.OK);
     }
 
     @PostMapping("/api/interviews/draft")
@@ -0,0 +1,56 @@
+package com.sparta.willbe.interview.dto;
+
+import com.sparta.willbe._global.pagination.exception.PaginationCursorInvalidException;
+import com.sparta.willbe.interview.model.Interview;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+// 피드 keyset 페이지의 "마지막으로 본 행" (정렬 값 + id), 클라이언트에는 base64 문자열로만 보인다
+// 정렬 값은 스크랩순이면 scrapCount, 나머지는 createdAt (나노초까지 그대로)
+@Getter
+@AllArgsConstructor
+public class InterviewCursor {
+    private final long key;
+    private final long id;
+
+    public static InterviewCursor ofScrapCount(Interview interview) {
+        return new InterviewCursor(interview.getScrapCount(), interview.getId());
+    }
+
+    public static InterviewCursor ofCreatedAt(Interview interview) {
+        Instant instant = interview.getCreatedAt().toInstant(ZoneOffset.UTC);
+        return new InterviewCursor(instant.getEpochSecond() * 1_000_000_000L + instant.getNano(), interview.getId());
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(key, 1_000_000_000L), (int) Math.floorMod(key, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    public String encode() {
+        String raw = key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static InterviewCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            InterviewCursor decoded = new InterviewCursor(Long.parseLong(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+            // scrapCount 도 createdAt(1970 이후)도 음수가 될 수 없다. 어느 정렬이든 쿼리까지 가기 전에 여기서 거른다
+            if (decoded.key < 0 || decoded.id <= 0) {
+                throw new PaginationCursorInvalidException();
+            }
+            decoded.getCreatedAt();
+            return decoded;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new PaginationCursorInvalidException();
+        }
+    }
+}
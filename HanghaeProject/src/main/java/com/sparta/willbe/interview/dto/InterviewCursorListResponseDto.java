@@ -0,0 +1,16 @@
+package com.sparta.willbe.interview.dto;
+
+import com.sparta.willbe._global.pagination.dto.CursorResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class InterviewCursorListResponseDto {
+
+    private List<InterviewInfoResponseDto.Data> interviews;
+    private CursorResponseDto pagination;
+
+}
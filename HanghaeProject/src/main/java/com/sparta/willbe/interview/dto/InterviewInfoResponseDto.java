@@ -1,6 +1,7 @@
 package com.sparta.willbe.interview.dto;
 
 import com.sparta.willbe.interview.model.Interview;
+import com.sparta.willbe.interview.model.MediaInfo;
 import com.sparta.willbe.question.dto.QuestionResponseDto;
 import com.sparta.willbe.question.model.Question;
 import com.sparta.willbe.user.dto.UserInfoResponseDto;
@@ -19,12 +20,16 @@ public class InterviewInfoResponseDto {
 
     @Getter
     @AllArgsConstructor
-    @Builder
+    @Builder(toBuilder = true)
     public static class Data{
         private Long id;
 
         private String video;
+        // mp4, hls (hls 면 video 는 master playlist, 세그먼트는 쿠키로 인증)
+        private String videoType;
         private String thumbnail;
+        // 영상 길이/해상도 등 (변환 전이면 null)
+        private Media media;
 
         private QuestionResponseDto.data question;
         private UserInfoResponseDto.UserBody user;
@@ -49,6 +54,37 @@ public class InterviewInfoResponseDto {
         public void deleteVideoKey(){
             this.video = "";
         }
+
+        public void changeVideo(String video, String videoType) {
+            this.video = video;
+            this.videoType = videoType;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @Builder
+    public static class Media {
+        private Long durationMillis;
+        private Integer width;
+        private Integer height;
+        private Double frameRate;
+        private Boolean hasAudio;
+        private Long bytes;
+
+        public static Media of(MediaInfo mediaInfo) {
+            if (mediaInfo == null) {
+                return null;
+            }
+            return Media.builder()
+                    .durationMillis(mediaInfo.getDurationMillis())
+                    .width(mediaInfo.getWidth())
+                    .height(mediaInfo.getHeight())
+                    .frameRate(mediaInfo.getFrameRate())
+                    .hasAudio(mediaInfo.getHasAudio())
+                    .bytes(mediaInfo.getBytes())
+                    .build();
+        }
     }
 
     public InterviewInfoResponseDto(Interview interview, String videoUrl, String imageUrl,
@@ -77,7 +113,9 @@ public class InterviewInfoResponseDto {
         this.interview = Data.builder()
                 .id(interview.getId())
                 .video(videoUrl)
+                .videoType(videoUrl == null ? null : "mp4")
                 .thumbnail(imageUrl)
+                .media(Media.of(interview.getMediaInfo()))
                 .question(new QuestionResponseDto.data(questionId, questionCategory, questionContents,questionReference))
                 .user(userBody)
                 .badge(interview.getBadge())
@@ -120,7 +158,9 @@ public class InterviewInfoResponseDto {
         this.interview = Data.builder()
                 .id(interview.getId())
                 .video(videoUrl)
+                .videoType(videoUrl == null ? null : "mp4")
                 .thumbnail(imageUrl)
+                .media(Media.of(interview.getMediaInfo()))
                 .question(new QuestionResponseDto.data(questionId, questionCategory, questionContents,questionReference))
                 .user(userBody)
                 .badge(interview.getBadge())
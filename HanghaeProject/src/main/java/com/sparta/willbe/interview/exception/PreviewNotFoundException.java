@@ -0,0 +1,10 @@
+package com.sparta.willbe.interview.exception;
+
+import com.sparta.willbe._global.exception.BusinessException;
+import com.sparta.willbe._global.exception.ExceptionCode;
+
+public class PreviewNotFoundException extends BusinessException {
+    public PreviewNotFoundException() {
+        super(ExceptionCode.PREVIEW_NOT_FOUND);
+    }
+}
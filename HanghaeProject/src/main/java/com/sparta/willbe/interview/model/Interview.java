@@ -1,5 +1,6 @@
 package com.sparta.willbe.interview.model;
 
+import com.sparta.willbe.category.model.CategoryEnum;
 import com.sparta.willbe.likes.model.Likes;
 import com.sparta.willbe._global.timestamped.model.Timestamped;
 import com.sparta.willbe.comments.model.Comment;
@@ -17,6 +18,13 @@ import static javax.persistence.FetchType.LAZY;
 @Getter
 @NoArgsConstructor
 @Entity
+// 피드 keyset 페이지용 (정렬 값, id) 인덱스
+@Table(indexes = {
+        @Index(name = "idx_interview_feed_created", columnList = "is_done, is_public, created_at, id"),
+        @Index(name = "idx_interview_feed_category_created", columnList = "is_done, is_public, category, created_at, id"),
+        @Index(name = "idx_interview_feed_scrap", columnList = "is_done, is_public, scrap_count, id"),
+        @Index(name = "idx_interview_feed_category_scrap", columnList = "is_done, is_public, category, scrap_count, id")
+})
 public class Interview extends Timestamped {
 
     @Id
@@ -47,6 +55,32 @@ public class Interview extends Timestamped {
     @Column(nullable = true)
     private Boolean isThumbnailConverted;
 
+    @Column(nullable = true)
+    private Boolean isHlsPackaged;
+
+    // 변환하면서 뽑은 포스터 (클라이언트 썸네일이 아직 없을 때 대신 보여준다)
+    @Column(nullable = true)
+    private String posterKey;
+
+    // 스크랩/댓글 수 (ScrapService, CommentService 에서 같이 갱신, InterviewCountReconcileService 가 주기적으로 맞춤)
+    // bulk update 로만 바꾼다. 엔티티 flush 가 읽어둔 옛 값으로 덮어쓰지 않도록 updatable = false
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long scrapCount;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long commentCount;
+
+    // question.category 복사본 (카테고리 피드를 question 조인 없이 인덱스로)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = true)
+    private CategoryEnum category;
+
+    @Embedded
+    private MediaInfo mediaInfo;
+
+    @Embedded
+    private SpriteSheet spriteSheet;
+
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -84,6 +118,7 @@ public class Interview extends Timestamped {
         this.memo = memo;
         this.isPublic = isPublic;
         this.question = question;
+        this.category = question.getCategory();
         this.isDone = true;
         this.videoKey = videoKey;
         this.thumbnailKey = thumbnailKey;
@@ -103,6 +138,26 @@ public class Interview extends Timestamped {
         return this;
     }
 
+    public Interview updateMediaInfo(MediaInfo mediaInfo) {
+        this.mediaInfo = mediaInfo;
+        return this;
+    }
+
+    public Interview updateSpriteSheet(SpriteSheet spriteSheet) {
+        this.spriteSheet = spriteSheet;
+        return this;
+    }
+
+    public Interview packageHls() {
+        this.isHlsPackaged = true;
+        return this;
+    }
+
+    public Interview updatePosterKey(String posterKey) {
+        this.posterKey = posterKey;
+        return this;
+    }
+
     public Interview convertThumbnail() {
         this.isThumbnailConverted = true;
         return this;
@@ -0,0 +1,42 @@
+package com.sparta.willbe.interview.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+//  변환된 영상의 ffprobe 결과 (변환 작업에서 한 번 채운다)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class MediaInfo {
+
+    @Column(name = "media_duration_millis", nullable = true)
+    private Long durationMillis;
+
+    @Column(name = "media_width", nullable = true)
+    private Integer width;
+
+    @Column(name = "media_height", nullable = true)
+    private Integer height;
+
+    @Column(name = "media_frame_rate", nullable = true)
+    private Double frameRate;
+
+    @Column(name = "media_video_codec", nullable = true)
+    private String videoCodec;
+
+    @Column(name = "media_bit_rate", nullable = true)
+    private Long bitRate;
+
+    @Column(name = "media_has_audio", nullable = true)
+    private Boolean hasAudio;
+
+    @Column(name = "media_bytes", nullable = true)
+    private Long bytes;
+}
@@ -0,0 +1,39 @@
+package com.sparta.willbe.interview.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+//  탐색 미리보기용 스프라이트 (intervalSeconds 마다 한 칸, 좋아요 구간과 같은 간격)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class SpriteSheet {
+
+    @Column(name = "sprite_sheets", nullable = true)
+    private Integer sheets;
+
+    @Column(name = "sprite_tiles", nullable = true)
+    private Integer tiles;
+
+    @Column(name = "sprite_columns", nullable = true)
+    private Integer columns;
+
+    @Column(name = "sprite_rows", nullable = true)
+    private Integer rows;
+
+    @Column(name = "sprite_tile_width", nullable = true)
+    private Integer tileWidth;
+
+    @Column(name = "sprite_tile_height", nullable = true)
+    private Integer tileHeight;
+
+    @Column(name = "sprite_interval_seconds", nullable = true)
+    private Integer intervalSeconds;
+}
@@ -5,29 +5,118 @@ import com.sparta.willbe.interview.model.Interview;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface InterviewRepository extends JpaRepository<Interview, Long> {
-    //인터뷰 전체보기
+    //인터뷰 전체보기 (user, question 은 페이지 쿼리에서 함께 로딩)
+    @EntityGraph(attributePaths = {"user", "question"})
     Page<Interview> findAllByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalse(Pageable pageable);
-    Page<Interview> findAllByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalseAndQuestion_Category(CategoryEnum categoryEnum, Pageable pageable);
+    @EntityGraph(attributePaths = {"user", "question"})
+    Page<Interview> findAllByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalseAndCategory(CategoryEnum categoryEnum, Pageable pageable);
+    // 홈 최신 인터뷰 (likes 는 mappedBy 쪽 OneToOne 이라 같이 안 가져오면 row 마다 select 가 나간다)
+    @EntityGraph(attributePaths = {"user", "question", "likes"})
     List<Interview> findTop4ByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalseOrderByCreatedAtDesc();
 
-    @Query(value = "select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false Order By size(p.scraps) desc")
+    @EntityGraph(attributePaths = {"user", "question"})
+    @Query(value = "select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false Order By p.scrapCount desc, p.id desc")
     Page<Interview> findAllOrderByScrapsCountDesc(Pageable pageable);
 
-    @Query(value = "select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false and p.question.category = ?1 Order By size(p.scraps) desc")
+    @EntityGraph(attributePaths = {"user", "question"})
+    @Query(value = "select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false and p.category = ?1 Order By p.scrapCount desc, p.id desc")
     Page<Interview> findAllByQuestion_CategoryOrderByScrapsCountDesc(CategoryEnum categoryEnum, Pageable pageable);
 
+    //피드 keyset 페이지 (count 쿼리 없음, limit 은 Pageable 로), 첫 페이지는 끝값을 넘긴다
+    @EntityGraph(attributePaths = {"user", "question"})
+    @Query("select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false " +
+            "and (p.createdAt < ?1 or (p.createdAt = ?1 and p.id < ?2)) order by p.createdAt desc, p.id desc")
+    List<Interview> findFeedBeforeCreatedAt(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "question"})
+    @Query("select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false and p.category = ?1 " +
+            "and (p.createdAt < ?2 or (p.createdAt = ?2 and p.id < ?3)) order by p.createdAt desc, p.id desc")
+    List<Interview> findFeedByCategoryBeforeCreatedAt(CategoryEnum category, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "question"})
+    @Query("select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false " +
+            "and (p.createdAt > ?1 or (p.createdAt = ?1 and p.id > ?2)) order by p.createdAt asc, p.id asc")
+    List<Interview> findFeedAfterCreatedAt(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "question"})
+    @Query("select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false and p.category = ?1 " +
+            "and (p.createdAt > ?2 or (p.createdAt = ?2 and p.id > ?3)) order by p.createdAt asc, p.id asc")
+    List<Interview> findFeedByCategoryAfterCreatedAt(CategoryEnum category, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "question"})
+    @Query("select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false " +
+            "and (p.scrapCount < ?1 or (p.scrapCount = ?1 and p.id < ?2)) order by p.scrapCount desc, p.id desc")
+    List<Interview> findFeedBeforeScrapCount(long scrapCount, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "question"})
+    @Query("select p from Interview p JOIN p.user u where p.isDone = true and p.isPublic = true and u.isDeleted = false and p.category = ?1 " +
+            "and (p.scrapCount < ?2 or (p.scrapCount = ?2 and p.id < ?3)) order by p.scrapCount desc, p.id desc")
+    List<Interview> findFeedByCategoryBeforeScrapCount(CategoryEnum category, long scrapCount, Long id, Pageable pageable);
+
+    long countByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalse();
+
+    long countByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalseAndCategory(CategoryEnum category);
+
+    @EntityGraph(attributePaths = {"user", "question"})
     Page<Interview> findAllByIsDoneAndUser_IdAndUser_IsDeleted(Boolean isDone, Long userId, Boolean isDeleted, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"user", "question"})
     Page<Interview> findAllByIsDoneAndScraps_User_IdAndUser_IsDeleted(Boolean isDone, Long userId, Boolean isDeleted, Pageable pageable);
 
+    //썸네일 업로드 확인 대기중인 인터뷰 (afterId 다음부터, 한 바퀴 돌면 0 부터 다시)
+    @Query("select i from Interview i where i.isDone = true and (i.isThumbnailConverted = false or i.isThumbnailConverted is null) and i.createdAt > ?1 and i.id > ?2 order by i.id asc")
+    List<Interview> findThumbnailPending(LocalDateTime createdAfter, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("update Interview i set i.isThumbnailConverted = true where i.id in ?1")
+    int markThumbnailConverted(Collection<Long> interviewIds);
+
+    //스크랩, 댓글 수는 행을 직접 더한다 (동시에 눌러도 안 틀리게)
+    @Modifying
+    @Query("update Interview i set i.scrapCount = i.scrapCount + ?2 where i.id = ?1")
+    int addScrapCount(Long interviewId, long delta);
+
+    @Modifying
+    @Query("update Interview i set i.commentCount = i.commentCount + ?2 where i.id = ?1")
+    int addCommentCount(Long interviewId, long delta);
+
+    @Query("select i.scrapCount from Interview i where i.id = ?1")
+    Long findScrapCountById(Long interviewId);
+
+    @Query("select i.commentCount from Interview i where i.id = ?1")
+    Long findCommentCountById(Long interviewId);
+
+    @Query("select max(i.id) from Interview i")
+    Long findMaxId();
+
+    //id 구간의 스크랩, 댓글 수를 실제 행 개수로 다시 맞춘다
+    @Transactional
+    @Modifying
+    @Query(value = "update interview i set " +
+            "i.scrap_count = (select count(*) from scrap s where s.interview_id = i.id), " +
+            "i.comment_count = (select count(*) from comment c join `user` u on u.id = c.user_id where c.interview_id = i.id and u.is_deleted = false) " +
+            "where i.id > ?1 and i.id <= ?2", nativeQuery = true)
+    int reconcileCounts(Long fromIdExclusive, Long toIdInclusive);
+
+    //category 컬럼이 생기기 전 인터뷰
+    @Transactional
+    @Modifying
+    @Query(value = "update interview i join question q on q.id = i.question_id set i.category = q.category where i.category is null", nativeQuery = true)
+    int backfillCategory();
+
     @Query("SELECT q.category FROM Interview i LEFT JOIN i.question q WHERE i.question.id = q.id GROUP BY q.category ORDER BY COUNT(q.category ) DESC ")
     List<CategoryEnum> findCategoriesOrderedByCategoryCount(Pageable pageable);
 
@@ -1,140 +1,254 @@
 package com.sparta.willbe.interview.service;
 
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.sparta.willbe.interview.exception.DraftNotFoundException;
-import com.sparta.willbe.interview.model.Interview;
-import com.sparta.willbe.interview.repository.InterviewRepository;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import net.bramp.ffmpeg.FFmpeg;
-import net.bramp.ffmpeg.FFmpegExecutor;
-import net.bramp.ffmpeg.FFprobe;
+import com.sparta.willbe.transcode.service.FFmpegRunner;
+import com.sparta.willbe.transcode.service.PreviewImageService;
 import net.bramp.ffmpeg.builder.FFmpegBuilder;
-import net.bramp.ffmpeg.job.FFmpegJob;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import javax.activation.FileDataSource;
-import javax.transaction.Transactional;
-import java.io.File;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
-
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 변환 단계(다운로드/변환/업로드)만 담당. 작업 상태와 재시도는 TranscodeWorker 가 관리한다.
+ * 각 단계는 임시 파일에 쓴 뒤 rename 하므로 결과 파일이 있으면 그 단계는 끝난 것이다.
+ * streamConvert 는 디스크를 거치지 않고 S3 -> ffmpeg stdin -> stdout -> S3 multipart 로 바로 흘려보낸다.
+ */
 @Slf4j
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class InterviewConvertService {
 
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024; // S3 multipart 최소 part 크기 (마지막 part 제외)
+    private static final int STDERR_TAIL_LINES = 20;
+
     @Value("${cloud.aws.s3.bucket}")
     public String bucket;
     private final AmazonS3Client amazonFullS3Client;
-    private final InterviewRepository interviewRepository;
+    private final FFmpegRunner fFmpegRunner;
+    private final PreviewImageService previewImageService;
+
+    @Value("${transcode.stream.part-size-mb:8}")
+    private int partSizeMb;
 
-    @Async
-    public void onAsync() {
-        log.info("onAsync");
+    public void download(String objectKey, Path downloadPath) throws IOException {
+        Path partPath = downloadPath.resolveSibling(downloadPath.getFileName() + ".part");
+        try (InputStream in = amazonFullS3Client.getObject(new GetObjectRequest(bucket, objectKey)).getObjectContent()) {
+            Files.copy(in, partPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(partPath, downloadPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("OBJECT KEY " + objectKey + " DOWNLOADED IN PATH " + downloadPath);
     }
 
-    @Async
-    public String webmToMp4(String objectKey, Long interviewId) {
-        String downloadPath = objectKey.replace("videos/", "./");
-        String uploadPath = downloadPath.replace(".webm", ".mp4");
-        String newObjectKey = objectKey.replace(".webm", ".mp4");
-        download(objectKey, downloadPath);
+    //  imageDir 에는 같은 실행에서 포스터/스프라이트가 만들어진다
+    public void convert(Path webmPath, Path mp4Path, Path imageDir, Long interviewId) throws IOException {
+        Path partPath = mp4Path.resolveSibling("part-" + mp4Path.getFileName());
+        previewImageService.prepare(imageDir);
 
-        try {
-            convert(downloadPath, uploadPath, interviewId);
-        } catch (Exception e) {
-            log.error("CONVERT FAIL INTERVIEW: " + interviewId);
-            interviewRepository.deleteById(interviewId);
-            return newObjectKey;
-        }
+        FFmpegBuilder builder = previewImageService.addOutputs(fFmpegRunner.tune(new FFmpegBuilder()
+                        .overrideOutputFiles(true)
+                        .setInput(webmPath.toString())
+                        .addOutput(partPath.toString()))
+                .setVideoCodec("h264")
+                .setVideoFrameRate(24, 1)
+                .done(), imageDir);
+
+        log.info("EXEC FFMPEG (INTERVIEW " + interviewId + ") " + builder.toString());
+
+        fFmpegRunner.run(builder, interviewId);
 
-        upload(objectKey, uploadPath);
+        Files.move(partPath, mp4Path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 파이프로 바로 변환해서 업로드한다.
+     * ffmpeg 가 파이프 입력을 demux 하지 못해 실패하면 업로드를 취소하고 false 를 돌려준다 (호출한 쪽에서 파일 모드로 재시도).
+     * S3 오류 등 그 외의 실패는 예외로 던진다.
+     */
+    public boolean streamConvert(String objectKey, String newObjectKey, Path imageDir, Long interviewId) throws IOException {
+        previewImageService.prepare(imageDir);
+
+        // mp4 는 moov 가 끝에 붙어 seek 가 필요하므로 fragmented mp4 로 내보낸다
+        // 포스터/스프라이트는 작아서 imageDir 에 파일로
+        FFmpegBuilder builder = previewImageService.addOutputs(fFmpegRunner.tune(new FFmpegBuilder()
+                        .overrideOutputFiles(true)
+                        .setInput("pipe:0")
+                        .addOutput("pipe:1"))
+                .setFormat("mp4")
+                .setVideoCodec("h264")
+                .setVideoFrameRate(24, 1)
+                .addExtraArgs("-movflags", "frag_keyframe+empty_moov")
+                .done(), imageDir);
+
+        List<String> args = builder.build();
+        log.info("EXEC STREAMING FFMPEG (INTERVIEW " + interviewId + ") " + args);
+
+        // 업로드를 먼저 시작한다 (실패해도 ffmpeg 와 스레드가 남지 않도록)
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType("video/mp4");
+        String uploadId = amazonFullS3Client.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucket, newObjectKey, metadata)).getUploadId();
 
+        FFmpegRunner.RunningProcess running;
         try {
-            Files.deleteIfExists(Paths.get(downloadPath));
-            Files.deleteIfExists(Paths.get(uploadPath));
-        } catch (Exception e) {
-            log.error("NO SUCH FILE: " + downloadPath);
-            interviewRepository.deleteById(interviewId);
-            return newObjectKey;
+            running = fFmpegRunner.start(args, interviewId);
+        } catch (IOException | RuntimeException e) {
+            abortUpload(newObjectKey, uploadId);
+            throw e;
         }
+        Process process = running.getProcess();
+        AtomicReference<Exception> feedError = new AtomicReference<>();
+        Thread feeder = new Thread(() -> feed(objectKey, process, feedError), "transcode-feed-" + interviewId);
+        Deque<String> stderrTail = new ArrayDeque<>();
+        Thread stderrReader = new Thread(() -> drain(process.getErrorStream(), stderrTail), "transcode-stderr-" + interviewId);
 
+        try {
+            feeder.start();
+            stderrReader.start();
+            List<PartETag> partETags = uploadParts(process.getInputStream(), newObjectKey, uploadId);
 
-        log.info("OBJECT KEY " + objectKey + " CONVERT IN " + newObjectKey);
+            int exitCode = process.waitFor();
+            feeder.join();
+            stderrReader.join();
 
-        Interview interview = interviewRepository.findById(interviewId)
-                .orElseThrow(DraftNotFoundException::new);
-        interview.convertVideo();
+            if (exitCode != 0 && running.isTimedOut()) {
+                // 파일 모드로 다시 해도 마찬가지이므로 실패로 처리
+                throw new IOException("STREAMING FFMPEG TIMEOUT: " + objectKey);
+            }
+            if (exitCode != 0 || partETags.isEmpty()) {
+                abortUpload(newObjectKey, uploadId);
+                synchronized (stderrTail) {
+                    log.warn("STREAMING FFMPEG FAIL (INTERVIEW " + interviewId + ") EXIT " + exitCode + " - " + String.join(" | ", stderrTail));
+                }
+                return false;
+            }
+            if (feedError.get() != null) {
+                throw new IOException("SOURCE STREAM FAIL: " + objectKey, feedError.get());
+            }
 
-        return newObjectKey;
+            amazonFullS3Client.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucket, newObjectKey, uploadId, partETags));
+            log.info("OBJECT KEY " + objectKey + " STREAMED INTO " + newObjectKey + " (" + partETags.size() + " PARTS)");
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortUpload(newObjectKey, uploadId);
+            throw new IOException("STREAMING CONVERT INTERRUPTED: " + objectKey, e);
+        } catch (IOException | RuntimeException e) {
+            abortUpload(newObjectKey, uploadId);
+            throw e;
+        } finally {
+            running.finish();
+        }
     }
 
-    public void download(String objectKey, String downloadPath) {
-        log.info("OBJECT KEY " + objectKey + " DOWNLOADED IN PATH " + downloadPath);
-        try {
-            java.util.Date expiration = new java.util.Date();
-            long expTimeMillis = expiration.getTime();
-            expTimeMillis += 1000 * 60 * 60;
-            expiration.setTime(expTimeMillis);
-
-            InputStream in = amazonFullS3Client.getObject(new GetObjectRequest(bucket, objectKey)).getObjectContent();
-            Files.copy(in, Paths.get(downloadPath));
+    private List<PartETag> uploadParts(InputStream stdout, String newObjectKey, String uploadId) throws IOException {
+        byte[] part = new byte[Math.max(partSizeMb * 1024 * 1024, MIN_PART_SIZE)];
+        List<PartETag> partETags = new ArrayList<>();
+        try (InputStream in = stdout) {
+            int filled;
+            while ((filled = readFully(in, part)) > 0) {
+                UploadPartRequest uploadPartRequest = new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(newObjectKey)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partETags.size() + 1)
+                        .withInputStream(new ByteArrayInputStream(part, 0, filled))
+                        .withPartSize(filled);
+                partETags.add(amazonFullS3Client.uploadPart(uploadPartRequest).getPartETag());
+                if (filled < part.length) {
+                    break;
+                }
+            }
+        }
+        return partETags;
+    }
 
+    private void feed(String objectKey, Process process, AtomicReference<Exception> feedError) {
+        try (InputStream in = amazonFullS3Client.getObject(new GetObjectRequest(bucket, objectKey)).getObjectContent();
+             OutputStream stdin = process.getOutputStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                stdin.write(buffer, 0, read);
+            }
         } catch (Exception e) {
-            e.printStackTrace();
+            // ffmpeg 가 먼저 죽은 경우(broken pipe)는 종료 코드로 판단한다
+            feedError.set(e);
         }
     }
 
-    public void convert(String webmPath, String mp4Path, Long interviewId) throws IOException {
-        FFmpeg fFmpeg = new FFmpeg("/usr/bin/ffmpeg");
-        FFprobe fFprobe = new FFprobe("/usr/bin/ffprobe");
-        FileDataSource fileDataSource = new FileDataSource(webmPath);
-        File webmFile = fileDataSource.getFile();
-        File mp4File = new File(mp4Path);
-
-        FFmpegBuilder builder = new FFmpegBuilder()
-                .overrideOutputFiles(true)
-                .setInput(webmFile.getPath())
-                .addOutput(mp4File.getPath())
-                .setVideoCodec("h264")
-                .setVideoFrameRate(24, 1)
-                .done();
-
-        log.info("EXEC FFMPEG " + builder.toString());
+    private void drain(InputStream stderr, Deque<String> tail) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stderr, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                synchronized (tail) {
+                    if (tail.size() == STDERR_TAIL_LINES) {
+                        tail.removeFirst();
+                    }
+                    tail.addLast(line);
+                }
+            }
+        } catch (IOException ignored) {
+        }
+    }
 
-        FFmpegExecutor executor = new FFmpegExecutor(fFmpeg, fFprobe);
-        FFmpegJob job = executor.createJob(builder);
-        job.run();
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int filled = 0;
+        int read;
+        while (filled < buffer.length && (read = in.read(buffer, filled, buffer.length - filled)) != -1) {
+            filled += read;
+        }
+        return filled;
+    }
 
+    private void abortUpload(String newObjectKey, String uploadId) {
+        try {
+            amazonFullS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, newObjectKey, uploadId));
+        } catch (Exception e) {
+            log.error("MULTIPART UPLOAD ABORT FAIL: " + newObjectKey + " - " + e.getMessage());
+        }
     }
 
-    public void upload(String objectKey, String uploadFilePath) {
-        String newObjectKey = objectKey.replace(".webm", ".mp4");
+    public void upload(String newObjectKey, Path uploadFilePath) {
+        amazonFullS3Client.putObject(new PutObjectRequest(bucket, newObjectKey, uploadFilePath.toFile()));
+        log.info("OBJECT KEY " + newObjectKey + " CREATED IN BUCKET " + bucket);
+    }
 
+    //  변환 완료가 DB 에 반영된 뒤에 원본을 지운다 (중간에 죽으면 원본부터 다시 변환)
+    public void deleteSource(String objectKey) {
         try {
-            FileDataSource fileDataSource = new FileDataSource(uploadFilePath);
-            File file = fileDataSource.getFile();
-
-            amazonFullS3Client.putObject(new PutObjectRequest(bucket, newObjectKey, file));
             if (amazonFullS3Client.doesObjectExist(bucket, objectKey)) {
                 amazonFullS3Client.deleteObject(bucket, objectKey);
             }
-
-            log.info("OBJECT KEY " + objectKey + " CREATED IN BUCKET " + bucket);
-
         } catch (Exception e) {
-            e.printStackTrace();
-
+            log.error("SOURCE OBJECT DELETE FAIL: " + objectKey + " - " + e.getMessage());
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.sparta.willbe.interview.service;
+
+import com.sparta.willbe.interview.repository.InterviewRepository;
+import io.sentry.Sentry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// interview.scrap_count / comment_count 를 실제 스크랩, 댓글 수로 다시 맞추고, 비어있는 category 를 question 에서 채운다
+// 평소에는 ScrapService, CommentService 가 같은 트랜잭션에서 더하고 빼므로,
+// 탈퇴한 유저의 댓글이나 직접 지운 행 같은 어긋남만 여기서 바로잡는다. id 구간 단위로 나눠서 짧게 잠근다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InterviewCountReconcileService {
+    private final InterviewRepository interviewRepository;
+
+    @Value("${interview.count.reconcile.batch-size:1000}")
+    private long batchSize;
+
+    @Scheduled(initialDelayString = "${interview.count.reconcile.initial-delay-ms:60000}",
+            fixedDelayString = "${interview.count.reconcile.interval-ms:600000}")
+    public void reconcile() {
+        int backfilled = interviewRepository.backfillCategory();
+        if (backfilled > 0) {
+            log.info("INTERVIEW CATEGORY BACKFILL >> {} interviews", backfilled);
+        }
+
+        Long maxId = interviewRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        int updated = 0;
+        for (long from = 0; from < maxId; from += batchSize) {
+            try {
+                updated += interviewRepository.reconcileCounts(from, Math.min(from + batchSize, maxId));
+            } catch (Exception e) {
+                log.error("INTERVIEW COUNT RECONCILE FAIL ({} ~ {}) - {}", from, from + batchSize, e.getMessage());
+                Sentry.captureException(e);
+            }
+        }
+        log.info("INTERVIEW COUNT RECONCILE >> {} interviews checked", updated);
+    }
+}
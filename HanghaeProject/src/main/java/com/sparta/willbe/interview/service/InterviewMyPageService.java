@@ -6,6 +6,7 @@ import com.sparta.willbe._global.pagination.dto.PaginationResponseDto;
 import com.sparta.willbe.interview.dto.InterviewListResponseDto;
 import com.sparta.willbe.interview.model.Interview;
 import com.sparta.willbe.interview.repository.InterviewRepository;
+import com.sparta.willbe.scrap.service.ScrapIds;
 import com.sparta.willbe.user.exception.UserNotFoundException;
 import com.sparta.willbe.user.model.User;
 import com.sparta.willbe.user.repository.UserRepository;
@@ -18,7 +19,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 @RequiredArgsConstructor
 @Service
@@ -43,14 +43,10 @@ public class InterviewMyPageService {
 
         List<InterviewInfoResponseDto.Data> responses = new ArrayList<>();
 
-        Set<Long> userScrapsId = interviewService.getScrapedInterviewIds(user);
-
-        for (Interview interview : interviews.getContent()) {
-
-            InterviewInfoResponseDto response = interviewService.getInterviewResponse(loginUserId, userScrapsId, interview);
+        ScrapIds userScrapsId = interviewService.getScrapedInterviewIds(user);
 
+        for (InterviewInfoResponseDto response : interviewService.getInterviewResponses(loginUserId, userScrapsId, interviews.getContent())) {
             responses.add(response.getInterview());
-
         }
 
         PaginationResponseDto pagination = new PaginationResponseDto((long) pageable.getPageSize(),
@@ -69,14 +65,10 @@ public class InterviewMyPageService {
 
         List<InterviewInfoResponseDto.Data> responses = new ArrayList<>();
 
-        Set<Long> userScrapsId = interviewService.getScrapedInterviewIds(user);
-
-        for (Interview interview : interviews.getContent()) {
-
-            InterviewInfoResponseDto response = interviewService.getInterviewResponse(loginUserId, userScrapsId, interview);
+        ScrapIds userScrapsId = interviewService.getScrapedInterviewIds(user);
 
+        for (InterviewInfoResponseDto response : interviewService.getInterviewResponses(loginUserId, userScrapsId, interviews.getContent())) {
             responses.add(response.getInterview());
-
         }
 
         PaginationResponseDto pagination = new PaginationResponseDto((long) pageable.getPageSize(),
@@ -1,9 +1,10 @@
 package com.sparta.willbe.interview.service;
 
-import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3Client;
-import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.sparta.willbe.batch.tables.WeeklyInterview;
+import com.sparta.willbe.home.service.HomeChangedEvent;
+import com.sparta.willbe.interview.dto.InterviewCursor;
+import com.sparta.willbe.interview.dto.InterviewCursorListResponseDto;
 import com.sparta.willbe.interview.dto.InterviewInfoResponseDto;
 import com.sparta.willbe.interview.dto.InterviewListResponseDto;
 import com.sparta.willbe.interview.dto.InterviewUpdateRequestDto;
@@ -11,13 +12,20 @@ import com.sparta.willbe.interview.exception.InterviewForbiddenDeleteException;
 import com.sparta.willbe.interview.exception.InterviewForbiddenGetException;
 import com.sparta.willbe.interview.exception.InterviewForbiddenUpdateException;
 import com.sparta.willbe.interview.exception.InterviewNotFoundException;
+import com.sparta.willbe.interview.exception.PreviewNotFoundException;
 import com.sparta.willbe.interview.repository.InterviewRepository;
+import com.sparta.willbe.s3.CloudFrontCookieSigner;
+import com.sparta.willbe.s3.PresignedUrlCache;
 import com.sparta.willbe.scrap.repository.ScrapRepository;
+import com.sparta.willbe._global.pagination.dto.CursorResponseDto;
 import com.sparta.willbe._global.pagination.dto.PaginationResponseDto;
 import com.sparta.willbe.batch.repository.WeeklyInterviewRepository;
 import com.sparta.willbe.category.model.CategoryEnum;
 import com.sparta.willbe.interview.model.Interview;
-import com.sparta.willbe.scrap.model.Scrap;
+import com.sparta.willbe.scrap.service.ScrapIdCache;
+import com.sparta.willbe.scrap.service.ScrapIds;
+import com.sparta.willbe.transcode.service.HlsPackager;
+import com.sparta.willbe.transcode.service.PreviewImageService;
 import com.sparta.willbe.user.exception.UserNotFoundException;
 import com.sparta.willbe.user.model.User;
 import com.sparta.willbe.user.repository.UserRepository;
@@ -25,49 +33,54 @@ import io.sentry.Sentry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
-import java.net.URL;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 @Transactional
 public class InterviewService {
+    // keyset 첫 페이지용 끝값 (MySQL datetime 범위 안)
+    private static final LocalDateTime FEED_MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final LocalDateTime FEED_MIN_DATE = LocalDateTime.of(1000, 1, 1, 0, 0);
+
     private final InterviewRepository interviewRepository;
     private final UserRepository userRepository;
     private final WeeklyInterviewRepository weeklyInterviewRepository;
     private final ScrapRepository scrapRepository;
+    private final ScrapIdCache scrapIdCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
-    private static final long ONE_HOUR = 1000 * 60 * 60; //1시간
-
-    private final AmazonS3Client amazonS3Client;
+    private final PresignedUrlCache presignedUrlCache;
+    private final CloudFrontCookieSigner cloudFrontCookieSigner;
+    private final HlsPackager hlsPackager;
+    private final PreviewImageService previewImageService;
 
     private final AmazonS3Client amazonFullS3Client;
 
     @Value("${cloud.aws.s3.bucket}")
     public String bucket;
 
-    public String getPresignedUrl(String objectKey) {
-
-        Date expireTime = new Date();
-        expireTime.setTime(expireTime.getTime() + ONE_HOUR);
+    @Value("${interview.feed.total-cache-ms:60000}")
+    private long feedTotalCacheMillis;
 
-        // Generate the pre-signed URL.
-        GeneratePresignedUrlRequest generatePresignedUrlRequest =
-                new GeneratePresignedUrlRequest(bucket, objectKey)
-                        .withMethod(HttpMethod.GET)
-                        .withExpiration(expireTime);
+    // 필터 -> {전체 개수, 만료 시각}
+    private final Map<String, long[]> feedTotals = new ConcurrentHashMap<>();
 
-        URL url = amazonS3Client.generatePresignedUrl(generatePresignedUrlRequest);
-
-        return url.toString();
+    // 만료가 충분히 남은 URL은 캐시에서 재사용
+    public String getPresignedUrl(String objectKey) {
+        return presignedUrlCache.getUrl(objectKey);
     }
 
     public String getProfileImageUrl(String image) {
@@ -77,60 +90,67 @@ public class InterviewService {
         return (image.contains("http://") | image.contains("https://")) ? image : getPresignedUrl(image);
     }
 
+    // 썸네일 업로드 여부는 ThumbnailReconcileService 가 백그라운드에서 반영 -> 조회시 S3 호출 없음
+    // 썸네일이 아직 없으면 변환에서 뽑은 포스터
     public String getThumbnailImageUrl(Interview interview) {
-        if (interview.getIsThumbnailConverted()) {
+        if (Boolean.TRUE.equals(interview.getIsThumbnailConverted())) {
             return getPresignedUrl(interview.getThumbnailKey());
-        } else {
-            try {
-                boolean doesItExists = amazonFullS3Client.doesObjectExist(bucket, interview.getThumbnailKey());
-                if (doesItExists) {
-                    interview.convertThumbnail();
-                    return getPresignedUrl(interview.getThumbnailKey());
-                } else {
-                    return null;
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+        }
+        if (interview.getPosterKey() != null) {
+            return getPresignedUrl(interview.getPosterKey());
         }
         return null;
     }
 
-    public Set<Long> getScrapedInterviewIds(User user) {
-        Set<Long> userScrapsId = new HashSet<>();
-        if (user != null) {
-            for (Scrap scrap : user.getScraps()) {
-                userScrapsId.add(scrap.getInterview().getId());
-            }
-        }
-        return userScrapsId;
+    public ScrapIds getScrapedInterviewIds(User user) {
+        return user == null ? ScrapIds.EMPTY : scrapIdCache.get(user.getId());
+    }
+
+    public InterviewInfoResponseDto getInterviewResponse(Long loginUserId, ScrapIds userScrapsId, Interview interview) {
+        return getInterviewResponses(loginUserId, userScrapsId, Collections.singletonList(interview)).get(0);
     }
 
-    public InterviewInfoResponseDto getInterviewResponse(Long loginUserId, Set<Long> userScrapsId, Interview interview) {
-        Boolean isMine = loginUserId == null ? null : Objects.equals(interview.getUser().getId(), loginUserId);
-        Boolean scrapsMe = loginUserId == null ? null : userScrapsId.contains(interview.getId());
-        Long scrapsCount = (long) interview.getScraps().size();
-        Long commentsCount = (long) interview.getComments().size();
+    // 페이지 단위로 응답 조립 -> 스크랩 수, 댓글 수는 interview 컬럼, 위클리 뱃지는 인터뷰 id IN 쿼리로 한번에 조회
+    // (user, question 은 페이지 쿼리의 EntityGraph 로 함께 로딩)
+    public List<InterviewInfoResponseDto> getInterviewResponses(Long loginUserId, ScrapIds userScrapsId, List<Interview> interviews) {
+        List<InterviewInfoResponseDto> responses = new ArrayList<>();
+        if (interviews.isEmpty()) {
+            return responses;
+        }
 
-        String videoPresignedUrl = interview.getIsVideoConverted() ? getPresignedUrl(interview.getVideoKey()) : null;
-        String imagePresignedUrl = getThumbnailImageUrl(interview);
-        String profilePresignedUrl = getProfileImageUrl(interview.getUser().getProfileImageUrl());
+        List<Long> interviewIds = new ArrayList<>();
+        for (Interview interview : interviews) {
+            interviewIds.add(interview.getId());
+        }
 
         //5월 2째주 1등 -> 숫자만 추출
         // -> query did not return a unique result -> 최신꺼 1개만
-        //WeeklyInterview Weekly = weeklyInterviewRepository.findByInterviewId(interview.getId());
-        WeeklyInterview Weekly = weeklyInterviewRepository.findTopByInterviewIdOrderByIdDesc(interview.getId());
-        if( Weekly != null){
-            log.info("Weekly Interview 최신 top 1: {}", Weekly.getId());
+        Map<Long, WeeklyInterview> weeklies = new HashMap<>();
+        for (WeeklyInterview weekly : weeklyInterviewRepository.findLatestByInterviewIdIn(interviewIds)) {
+            weeklies.put(weekly.getInterviewId(), weekly);
+        }
+
+        for (Interview interview : interviews) {
+            Boolean isMine = loginUserId == null ? null : Objects.equals(interview.getUser().getId(), loginUserId);
+            Boolean scrapsMe = loginUserId == null ? null : userScrapsId.contains(interview.getId());
+            Long scrapsCount = interview.getScrapCount();
+            Long commentsCount = interview.getCommentCount();
+
+            String videoPresignedUrl = interview.getIsVideoConverted() ? getPresignedUrl(interview.getVideoKey()) : null;
+            String imagePresignedUrl = getThumbnailImageUrl(interview);
+            String profilePresignedUrl = getProfileImageUrl(interview.getUser().getProfileImageUrl());
+
+            WeeklyInterview weekly = weeklies.get(interview.getId());
+            boolean itsWeekly = weekly != null;
+            int month = itsWeekly ? Integer.parseInt(weekly.getWeeklyBadge().substring(0, 1)) : -1;
+            int week = itsWeekly ? Integer.parseInt(weekly.getWeeklyBadge().substring(3, 4)) : -1;
+            int ranking = itsWeekly ? Integer.parseInt(weekly.getWeeklyBadge().substring(7, 8)) : -1;
+
+            responses.add(new InterviewInfoResponseDto(interview, videoPresignedUrl, imagePresignedUrl, profilePresignedUrl,
+                    isMine, scrapsMe, scrapsCount, commentsCount,
+                    month, week, ranking));
         }
-        boolean itsWeekly = Weekly != null;
-        int month = itsWeekly ? Integer.parseInt(Weekly.getWeeklyBadge().substring(0, 1)) : -1;
-        int week = itsWeekly ? Integer.parseInt(Weekly.getWeeklyBadge().substring(3, 4)) : -1;
-        int ranking = itsWeekly ? Integer.parseInt(Weekly.getWeeklyBadge().substring(7, 8)) : -1;
-
-        return new InterviewInfoResponseDto(interview, videoPresignedUrl, imagePresignedUrl, profilePresignedUrl,
-                isMine, scrapsMe, scrapsCount, commentsCount,
-                month, week, ranking);
+        return responses;
     }
 
     public InterviewListResponseDto readAllInterviews(Long loginUserId, String sort, String filter, Pageable pageable) {
@@ -152,17 +172,13 @@ public class InterviewService {
         } else {
             interviews = filter.equals("전체보기") ?
                     interviewRepository.findAllByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalse(pageable) :
-                    interviewRepository.findAllByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalseAndQuestion_Category(CategoryEnum.valueOf(filter), pageable);
+                    interviewRepository.findAllByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalseAndCategory(CategoryEnum.valueOf(filter), pageable);
         }
 
-        Set<Long> userScrapsId = getScrapedInterviewIds(user);
-
-        for (Interview interview : interviews.getContent()) {
-
-            InterviewInfoResponseDto response = getInterviewResponse(loginUserId, userScrapsId, interview);
+        ScrapIds userScrapsId = getScrapedInterviewIds(user);
 
+        for (InterviewInfoResponseDto response : getInterviewResponses(loginUserId, userScrapsId, interviews.getContent())) {
             responses.add(response.getInterview());
-
         }
 
         PaginationResponseDto pagination = new PaginationResponseDto((long) pageable.getPageSize(),
@@ -172,6 +188,75 @@ public class InterviewService {
         return new InterviewListResponseDto(responses, pagination);
     }
 
+    // keyset 페이지 -> 깊은 페이지도 인덱스에서 바로 시작, count 쿼리 대신 캐시된 전체 개수
+    public InterviewCursorListResponseDto readInterviewsByCursor(Long loginUserId, String sort, String filter, int per, String cursor) {
+
+        User user = loginUserId == null ?
+                null :
+                userRepository.findById(loginUserId)
+                        .orElseThrow(UserNotFoundException::new);
+
+        InterviewCursor after = cursor == null || cursor.isEmpty() ? null : InterviewCursor.decode(cursor);
+        CategoryEnum category = filter.equals("전체보기") ? null : CategoryEnum.valueOf(filter);
+        // 한 개 더 읽어서 다음 페이지가 있는지 본다
+        Pageable limit = PageRequest.of(0, per + 1);
+
+        List<Interview> interviews;
+        if (sort.equals("스크랩순")) {
+            long scrapCount = after == null ? Long.MAX_VALUE : after.getKey();
+            long id = after == null ? Long.MAX_VALUE : after.getId();
+            interviews = category == null ?
+                    interviewRepository.findFeedBeforeScrapCount(scrapCount, id, limit) :
+                    interviewRepository.findFeedByCategoryBeforeScrapCount(category, scrapCount, id, limit);
+        } else if (sort.equals("오래된순")) {
+            LocalDateTime createdAt = after == null ? FEED_MIN_DATE : after.getCreatedAt();
+            long id = after == null ? 0L : after.getId();
+            interviews = category == null ?
+                    interviewRepository.findFeedAfterCreatedAt(createdAt, id, limit) :
+                    interviewRepository.findFeedByCategoryAfterCreatedAt(category, createdAt, id, limit);
+        } else {
+            LocalDateTime createdAt = after == null ? FEED_MAX_DATE : after.getCreatedAt();
+            long id = after == null ? Long.MAX_VALUE : after.getId();
+            interviews = category == null ?
+                    interviewRepository.findFeedBeforeCreatedAt(createdAt, id, limit) :
+                    interviewRepository.findFeedByCategoryBeforeCreatedAt(category, createdAt, id, limit);
+        }
+
+        boolean hasNext = interviews.size() > per;
+        if (hasNext) {
+            interviews = interviews.subList(0, per);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Interview last = interviews.get(interviews.size() - 1);
+            nextCursor = (sort.equals("스크랩순") ? InterviewCursor.ofScrapCount(last) : InterviewCursor.ofCreatedAt(last)).encode();
+        }
+
+        ScrapIds userScrapsId = getScrapedInterviewIds(user);
+        List<InterviewInfoResponseDto.Data> responses = new ArrayList<>();
+        for (InterviewInfoResponseDto response : getInterviewResponses(loginUserId, userScrapsId, interviews)) {
+            responses.add(response.getInterview());
+        }
+
+        CursorResponseDto pagination = new CursorResponseDto((long) per, nextCursor, !hasNext, getApproximateFeedTotal(category));
+        return new InterviewCursorListResponseDto(responses, pagination);
+    }
+
+    private long getApproximateFeedTotal(CategoryEnum category) {
+        String key = category == null ? "전체보기" : category.name();
+        long now = System.currentTimeMillis();
+        long[] cached = feedTotals.get(key);
+        if (cached != null && cached[1] > now) {
+            return cached[0];
+        }
+        long total = category == null ?
+                interviewRepository.countByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalse() :
+                interviewRepository.countByIsDoneTrueAndIsPublicTrueAndUser_IsDeletedFalseAndCategory(category);
+        feedTotals.put(key, new long[]{total, now + feedTotalCacheMillis});
+        return total;
+    }
+
     public InterviewInfoResponseDto readOneInterview(Long interviewId, Long loginUserId) {
 
         User user = loginUserId == null ?
@@ -189,9 +274,38 @@ public class InterviewService {
             throw new InterviewForbiddenGetException();
         }
 
-        Set<Long> userScrapsId = getScrapedInterviewIds(user);
+        ScrapIds userScrapsId = getScrapedInterviewIds(user);
 
-        return getInterviewResponse(loginUserId, userScrapsId, interview);
+        InterviewInfoResponseDto response = getInterviewResponse(loginUserId, userScrapsId, interview);
+
+        //HLS 로 패키징 되어있으면 master playlist 로 (세그먼트 접근은 컨트롤러에서 내려주는 쿠키로)
+        if (isHlsPlayable(interview)) {
+            response.getInterview().changeVideo(
+                    cloudFrontCookieSigner.getUrl(HlsPackager.getMasterPlaylistKey(interview.getId())), "hls");
+        }
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public String getPreviewVtt(Long interviewId, Long loginUserId) {
+        Interview interview = interviewRepository.findById(interviewId)
+                .orElseThrow(InterviewNotFoundException::new);
+
+        if (interview.getIsPublic() == false && !Objects.equals(interview.getUser().getId(), loginUserId)) {
+            throw new InterviewForbiddenGetException();
+        }
+        if (interview.getSpriteSheet() == null) {
+            throw new PreviewNotFoundException();
+        }
+        return previewImageService.buildVtt(interviewId, interview.getSpriteSheet());
+    }
+
+    public boolean isHlsPlayable(Interview interview) {
+        return Boolean.TRUE.equals(interview.getIsHlsPackaged()) && cloudFrontCookieSigner.isEnabled();
+    }
+
+    public List<ResponseCookie> getHlsCookies(Long interviewId) {
+        return cloudFrontCookieSigner.createCookies(HlsPackager.getPrefix(interviewId));
     }
 
     @Transactional
@@ -210,8 +324,9 @@ public class InterviewService {
 
         interview.update(requestDto.getNote(), requestDto.getIsPublic());
         interviewRepository.saveAndFlush(interview);
+        applicationEventPublisher.publishEvent(new HomeChangedEvent("interview " + interviewId + " updated"));
 
-        Set<Long> userScrapsId = getScrapedInterviewIds(user);
+        ScrapIds userScrapsId = getScrapedInterviewIds(user);
 
         return getInterviewResponse(loginUserId, userScrapsId, interview);
     }
@@ -230,7 +345,7 @@ public class InterviewService {
             throw new InterviewForbiddenDeleteException();
         }
 
-        Set<Long> userScrapsId = getScrapedInterviewIds(user);
+        ScrapIds userScrapsId = getScrapedInterviewIds(user);
 
         InterviewInfoResponseDto response = getInterviewResponse(loginUserId, userScrapsId, interview);
 
@@ -238,6 +353,18 @@ public class InterviewService {
         //S3에서 영상 삭제
         try{
             amazonFullS3Client.deleteObject(bucket, interview.getVideoKey());
+            presignedUrlCache.invalidate(interview.getVideoKey());
+            presignedUrlCache.invalidate(interview.getThumbnailKey());
+            if (interview.getPosterKey() != null) {
+                presignedUrlCache.invalidate(interview.getPosterKey());
+            }
+            if (Boolean.TRUE.equals(interview.getIsHlsPackaged())) {
+                hlsPackager.deletePackage(interviewId);
+            }
+            // 포스터도 스프라이트 prefix 아래에 있다
+            if (interview.getSpriteSheet() != null || interview.getPosterKey() != null) {
+                previewImageService.deleteSprites(interviewId);
+            }
             log.info("S3에서 인터뷰(ID:{}) 영상 삭제 성공(VideoKey:{})", interviewId, interview.getVideoKey());
 
         } catch (Exception e) {
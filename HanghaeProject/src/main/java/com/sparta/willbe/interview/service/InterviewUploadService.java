@@ -4,6 +4,7 @@ package com.sparta.willbe.interview.service;
 import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.sparta.willbe.home.service.HomeChangedEvent;
 import com.sparta.willbe.interview.dto.InterviewInfoResponseDto;
 import com.sparta.willbe.interview.dto.InterviewPostRequestDto;
 import com.sparta.willbe.interview.exception.DraftNotFoundException;
@@ -13,12 +14,16 @@ import com.sparta.willbe.interview.repository.InterviewRepository;
 import com.sparta.willbe.question.exception.QuestionNotFoundException;
 import com.sparta.willbe.question.model.Question;
 import com.sparta.willbe.question.repostitory.QuestionRepository;
+import com.sparta.willbe.transcode.model.TranscodeJob;
+import com.sparta.willbe.transcode.service.PreviewImageService;
+import com.sparta.willbe.transcode.service.TranscodeJobService;
 import com.sparta.willbe.user.exception.UserNotFoundException;
 import com.sparta.willbe.user.model.User;
 import com.sparta.willbe.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,7 +42,8 @@ public class InterviewUploadService {
     private final InterviewRepository interviewRepository;
     private final QuestionRepository questionRepository;
     private final UserRepository userRepository;
-    private final InterviewConvertService interviewConvertService;
+    private final TranscodeJobService transcodeJobService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     private static final long ONE_HOUR = 1000 * 60 * 60; // 1시간
     private final AmazonS3Client amazonS3Client;
@@ -95,15 +101,19 @@ public class InterviewUploadService {
             throw new InterviewForbiddenPostException();
         }
 
-        String convertedObjectkey = interviewConvertService.webmToMp4(interview.getVideoKey(), interview.getId());
-        log.info(interview.getVideoKey() + " To " + convertedObjectkey);
-
+        String sourceKey = interview.getVideoKey();
         interview.complete(requestDto.getNote(),
                 requestDto.getIsPublic(),
                 question,
                 interview.getVideoKey().replace(".webm",".mp4"),
                 "re" + interview.getThumbnailKey());
 
+        // 변환은 큐에 넣고 TranscodeWorker 가 처리 (트랜잭션이 커밋되어야 워커에게 보인다)
+        // 변환하면서 뽑은 포스터는 썸네일과 다른 key 로 올라가고, 썸네일이 안 올라왔을 때만 쓰인다
+        TranscodeJob transcodeJob = transcodeJobService.enqueue(interview.getId(), sourceKey, PreviewImageService.getPosterKey(interview.getId()));
+        log.info(sourceKey + " To " + transcodeJob.getTargetKey());
+        applicationEventPublisher.publishEvent(new HomeChangedEvent("interview " + interview.getId() + " posted"));
+
         return new InterviewInfoResponseDto(interview,
                 interviewService.getPresignedUrl(interview.getVideoKey()),
                 interviewService.getThumbnailImageUrl(interview),
@@ -0,0 +1,107 @@
+package com.sparta.willbe.interview.service;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.sparta.willbe.interview.model.Interview;
+import com.sparta.willbe.interview.repository.InterviewRepository;
+import io.sentry.Sentry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+// 클라이언트가 올린 썸네일이 S3에 도착했는지 백그라운드에서 확인하고 isThumbnailConverted 를 일괄 갱신
+// 같은 유저/날짜의 키는 prefix 가 같으므로 ListObjects 한번으로 여러 인터뷰를 확인한다.
+// 대기중인 인터뷰를 id 순으로 batch-size 씩 돌아가며 본다. 썸네일이 끝내 안 오는 행이 많아도 새 인터뷰가 밀리지 않는다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThumbnailReconcileService {
+    private final InterviewRepository interviewRepository;
+    private final AmazonS3Client amazonFullS3Client;
+
+    @Value("${cloud.aws.s3.bucket}")
+    public String bucket;
+
+    @Value("${thumbnail.reconcile.batch-size:500}")
+    private int batchSize;
+
+    // 이 기간이 지나도 썸네일이 없으면 더이상 확인하지 않는다
+    @Value("${thumbnail.reconcile.max-age-days:7}")
+    private long maxAgeDays;
+
+    // 지난번에 본 마지막 id (서버마다 따로, 재시작하면 처음부터)
+    private volatile long lastCheckedId;
+
+    @Scheduled(fixedDelayString = "${thumbnail.reconcile.interval-ms:30000}")
+    @Transactional
+    public void reconcile() {
+        List<Interview> pending = interviewRepository.findThumbnailPending(LocalDateTime.now().minusDays(maxAgeDays),
+                lastCheckedId, PageRequest.of(0, batchSize));
+        // 끝까지 봤으면 다음에는 처음부터
+        lastCheckedId = pending.size() < batchSize ? 0 : pending.get(pending.size() - 1).getId();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // prefix -> (thumbnailKey -> interviewId)
+        Map<String, Map<String, Long>> keysByPrefix = new HashMap<>();
+        for (Interview interview : pending) {
+            String key = interview.getThumbnailKey();
+            keysByPrefix.computeIfAbsent(listPrefix(key), k -> new HashMap<>()).put(key, interview.getId());
+        }
+
+        List<Long> converted = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Long>> entry : keysByPrefix.entrySet()) {
+            try {
+                converted.addAll(findExisting(entry.getKey(), entry.getValue()));
+            } catch (Exception e) {
+                log.error("THUMBNAIL RECONCILE FAIL PREFIX {} - {}", entry.getKey(), e.getMessage());
+                Sentry.captureException(e);
+            }
+        }
+
+        if (!converted.isEmpty()) {
+            interviewRepository.markThumbnailConverted(converted);
+            log.info("THUMBNAIL RECONCILE >> {}/{} interviews converted", converted.size(), pending.size());
+        }
+    }
+
+    private List<Long> findExisting(String prefix, Map<String, Long> keys) {
+        List<Long> found = new ArrayList<>();
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucket)
+                .withPrefix(prefix);
+        ListObjectsV2Result result;
+        do {
+            result = amazonFullS3Client.listObjectsV2(request);
+            for (S3ObjectSummary summary : result.getObjectSummaries()) {
+                Long interviewId = keys.get(summary.getKey());
+                if (interviewId != null) {
+                    found.add(interviewId);
+                }
+            }
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated() && found.size() < keys.size());
+        return found;
+    }
+
+    // "rethumbnails/12-2022-06-01-13-01-02-123.png" -> "rethumbnails/12-2022-06-01"
+    private String listPrefix(String key) {
+        int nameStart = key.lastIndexOf('/') + 1;
+        int userIdEnd = key.indexOf('-', nameStart);
+        int prefixLength = userIdEnd + 1 + "yyyy-MM-dd".length();
+        if (userIdEnd < 0 || prefixLength > key.length()) {
+            return key;
+        }
+        return key.substring(0, prefixLength);
+    }
+}
@@ -1,8 +1,10 @@
 package com.sparta.willbe.likes.controller;
 
 import com.sparta.willbe.likes.dto.LikeRequestDto;
+import com.sparta.willbe.likes.dto.LikesBatchRequestDto;
 import com.sparta.willbe.likes.dto.LikesResponseDto;
 import com.sparta.willbe.likes.service.LikesService;
+import com.sparta.willbe.likes.service.LikesStreamService;
 import com.sparta.willbe.user.exception.UserUnauthorizedException;
 import com.sparta.willbe.user.model.User;
 import io.swagger.annotations.ApiImplicitParam;
@@ -10,10 +12,12 @@ import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -21,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class LikesController {
 
     private final LikesService likesService;
+    private final LikesStreamService likesStreamService;
 
     @ApiOperation(value = "좋아요 정보 불러오기")
     @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token")
@@ -30,6 +35,13 @@ public class LikesController {
         return new ResponseEntity<LikesResponseDto>(likesResponseDto,HttpStatus.OK);
     }
 
+    @ApiOperation(value = "좋아요 실시간 구독 (SSE)")
+    @GetMapping(value = "/api/likes/{interviewId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamLikes(@PathVariable Long interviewId){
+        return likesStreamService.subscribe(interviewId);
+    }
+
     @ApiOperation(value = "좋아요 추가")
     @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
     @PostMapping("/api/likes")
@@ -49,4 +61,21 @@ public class LikesController {
          return new ResponseEntity<LikesResponseDto>(likesResponseDto,HttpStatus.OK);
     }
 
+    @ApiOperation(value = "좋아요 여러 개 한 번에 추가")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    @PostMapping("/api/likes/batch")
+    public ResponseEntity<LikesResponseDto> AddLikesBatch(@AuthenticationPrincipal User user,
+                                                          @RequestBody LikesBatchRequestDto likesBatchRequestDto){
+
+        if(user ==null){
+            throw new UserUnauthorizedException();
+        }
+
+        LikesResponseDto likesResponseDto =  likesService.addLikes(
+                likesBatchRequestDto.getInterviewId(),
+                user,
+                likesBatchRequestDto.getLikes());
+        return new ResponseEntity<LikesResponseDto>(likesResponseDto,HttpStatus.OK);
+    }
+
 }
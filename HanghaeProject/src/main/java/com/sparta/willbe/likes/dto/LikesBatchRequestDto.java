@@ -0,0 +1,23 @@
+package com.sparta.willbe.likes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikesBatchRequestDto {
+    private Long interviewId;
+    private List<Like> likes;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Like {
+        private int time;
+        private int count;
+    }
+}
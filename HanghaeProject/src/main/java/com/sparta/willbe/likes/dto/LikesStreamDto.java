@@ -0,0 +1,29 @@
+package com.sparta.willbe.likes.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+//  SSE 로 보내는 한 프레임, changed 는 바뀐 구간의 현재 값 (증가량이 아님)
+@Getter
+public class LikesStreamDto {
+    private Map<Integer, Integer> changed;
+    private Long TopOne;
+    private Long TopTwo;
+    private Long TopThree;
+    private long totalCount;
+
+    @Builder
+    public LikesStreamDto(Map<Integer, Integer> changed,
+                          Long TopOne,
+                          Long TopTwo,
+                          Long TopThree,
+                          long totalCount) {
+        this.changed = changed;
+        this.TopOne = TopOne;
+        this.TopTwo = TopTwo;
+        this.TopThree = TopThree;
+        this.totalCount = totalCount;
+    }
+}
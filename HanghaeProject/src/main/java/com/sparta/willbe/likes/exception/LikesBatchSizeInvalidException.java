@@ -0,0 +1,10 @@
+package com.sparta.willbe.likes.exception;
+
+import com.sparta.willbe._global.exception.BusinessException;
+import com.sparta.willbe._global.exception.ExceptionCode;
+
+public class LikesBatchSizeInvalidException extends BusinessException {
+    public LikesBatchSizeInvalidException() {
+        super(ExceptionCode.LIKES_BATCH_SIZE_INVALID);
+    }
+}
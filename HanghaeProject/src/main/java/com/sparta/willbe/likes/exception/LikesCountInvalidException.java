@@ -0,0 +1,10 @@
+package com.sparta.willbe.likes.exception;
+
+import com.sparta.willbe._global.exception.BusinessException;
+import com.sparta.willbe._global.exception.ExceptionCode;
+
+public class LikesCountInvalidException extends BusinessException {
+    public LikesCountInvalidException() {
+        super(ExceptionCode.LIKES_COUNT_INVALID);
+    }
+}
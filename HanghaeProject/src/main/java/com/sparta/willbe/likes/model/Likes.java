@@ -1,21 +1,15 @@
 package com.sparta.willbe.likes.model;
 
 import com.sparta.willbe.interview.model.Interview;
-import com.vladmihalcea.hibernate.type.json.JsonStringType;
 import lombok.*;
-import org.hibernate.annotations.Type;
-import org.hibernate.annotations.TypeDef;
 
 import javax.persistence.*;
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
-@TypeDef(name = "json", typeClass = JsonStringType.class)
 public class Likes implements Serializable {
 
     @Id
@@ -26,16 +20,35 @@ public class Likes implements Serializable {
     @JoinColumn(name="interview_id")
     private Interview interview;
 
-    @Type(type = "json")
-    @Column(columnDefinition = "json")
-    private Map<Integer, Integer> likesData = new HashMap<>();
+    // 구간별 좋아요 수 (LikesCodec)
+    @Lob
+    @Column(name = "likes_blob", columnDefinition = "mediumblob")
+    private byte[] buckets;
+
+    @Column(name = "total_count")
+    private long totalCount;
+
+    // 예전 JSON 형식, LikesMigrationService 가 옮긴 뒤에는 읽지 않는다
+    @Column(name = "likes_data", columnDefinition = "json", insertable = false, updatable = false)
+    private String legacyData;
 
     @Builder
-    public Likes(Long id, Interview interview,Map<Integer, Integer> likesData){
+    public Likes(Long id, Interview interview, int[] buckets){
         this.id = id;
         this.interview = interview;
-        this.likesData = likesData;
+        changeBuckets(buckets == null ? new int[0] : buckets);
     }
-}
 
+    public void changeBuckets(int[] buckets) {
+        long total = 0;
+        for (int value : buckets) {
+            total += value;
+        }
+        this.buckets = LikesCodec.encode(buckets);
+        this.totalCount = total;
+    }
 
+    public boolean isMigrated() {
+        return buckets != null || legacyData == null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.sparta.willbe.likes.model;
+
+/**
+ * 구간별 좋아요 수를 varint 로 이어 붙인 BLOB 형식.
+ * [버전 1byte][구간 수 varint][구간 0 값 varint][구간 1 값 varint]...
+ * 좋아요 없는 구간은 1byte, 127 이하도 1byte 라 10분 영상(86구간)이 보통 100byte 안쪽이다.
+ * 끝쪽의 0 구간은 저장하지 않는다.
+ */
+public final class LikesCodec {
+    private static final byte VERSION = 1;
+    private static final int HEADER_OFFSET = 1;
+
+    private LikesCodec() {
+    }
+
+    public static byte[] encode(int[] buckets) {
+        int length = buckets.length;
+        while (length > 0 && buckets[length - 1] == 0) {
+            length--;
+        }
+
+        int size = HEADER_OFFSET + varintSize(length);
+        for (int bucket = 0; bucket < length; bucket++) {
+            size += varintSize(buckets[bucket]);
+        }
+
+        byte[] data = new byte[size];
+        data[0] = VERSION;
+        int position = writeVarint(data, HEADER_OFFSET, length);
+        for (int bucket = 0; bucket < length; bucket++) {
+            position = writeVarint(data, position, buckets[bucket]);
+        }
+        return data;
+    }
+
+    //  저장된 구간 수 (null 이면 0)
+    public static int size(byte[] data) {
+        if (data == null || data.length <= HEADER_OFFSET) {
+            return 0;
+        }
+        checkVersion(data);
+        return readVarint(data, HEADER_OFFSET);
+    }
+
+    /**
+     * target 에 구간 값을 채우고 합계를 돌려준다. 새 배열을 만들지 않는다.
+     * target 보다 긴 구간은 합계에만 들어간다.
+     */
+    public static long decodeInto(byte[] data, int[] target) {
+        if (data == null || data.length <= HEADER_OFFSET) {
+            return 0;
+        }
+        checkVersion(data);
+
+        int position = HEADER_OFFSET;
+        int length = readVarint(data, position);
+        position += varintSize(length);
+
+        long total = 0;
+        for (int bucket = 0; bucket < length; bucket++) {
+            int value = readVarint(data, position);
+            position += varintSize(value);
+            if (bucket < target.length) {
+                target[bucket] = value;
+            }
+            total += value;
+        }
+        return total;
+    }
+
+    public static int[] decode(byte[] data) {
+        int[] buckets = new int[size(data)];
+        decodeInto(data, buckets);
+        return buckets;
+    }
+
+    private static void checkVersion(byte[] data) {
+        if (data[0] != VERSION) {
+            throw new IllegalArgumentException("unknown likes format version : " + data[0]);
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] data, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            data[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[position++] = (byte) value;
+        return position;
+    }
+
+    private static int readVarint(byte[] data, int position) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = data[position++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
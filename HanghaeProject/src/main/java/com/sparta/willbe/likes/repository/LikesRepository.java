@@ -1,10 +1,30 @@
 package com.sparta.willbe.likes.repository;
 
 import com.sparta.willbe.likes.model.Likes;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface LikesRepository extends JpaRepository<Likes, Long> {
     Likes findByInterviewId(Long interviewId) ;
+
+    //카운터 flush 시 행을 잠그고 합친다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Likes l where l.interview.id = ?1")
+    Optional<Likes> findByInterviewIdForUpdate(Long interviewId);
+
+    //JSON 에서 아직 옮기지 않은 행
+    @Query("select l.id from Likes l where l.buckets is null and l.legacyData is not null order by l.id")
+    List<Long> findLegacyIds(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Likes l where l.id in ?1")
+    List<Likes> findAllByIdForUpdate(List<Long> ids);
 }
@@ -0,0 +1,227 @@
+package com.sparta.willbe.likes.service;
+
+import com.sparta.willbe.likes.model.LikesCodec;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 인터뷰 하나의 구간별 좋아요 카운터 (인덱스 = LikesService.INTERVAL 초 구간).
+ * totals 는 저장된 값 + 아직 저장 안 된 값, pending 은 다음 flush 때 DB 에 더할 값이다.
+ * 좋아요는 늘기만 하므로 top 3 는 증가한 구간만 보고 갱신하면 된다.
+ */
+public class LikesCounter {
+    private static final int TOP_SIZE = 3;
+
+    private final AtomicIntegerArray totals;
+    private final AtomicIntegerArray pending;
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicReference<int[]> top = new AtomicReference<>(new int[0]);
+
+    // 제거(retire)와 add 가 엇갈려 좋아요가 사라지지 않도록
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean retired = new AtomicBoolean();
+
+    // sync 때 DB 값을 풀어 넣는 곳 (sync 는 synchronized 라 재사용한다)
+    private final int[] scratch;
+
+    private volatile long syncedAt;
+    private volatile long accessedAt;
+
+    public LikesCounter(int size, byte[] persisted) {
+        int length = Math.max(size, LikesCodec.size(persisted));
+        this.totals = new AtomicIntegerArray(length);
+        this.pending = new AtomicIntegerArray(length);
+        this.scratch = new int[length];
+        this.accessedAt = System.currentTimeMillis();
+        sync(persisted);
+    }
+
+    public int size() {
+        return totals.length();
+    }
+
+    public int get(int bucket) {
+        return totals.get(bucket);
+    }
+
+    //  제거된 카운터면 false (새로 불러온 카운터에 다시 더해야 한다)
+    public boolean add(int bucket, int count) {
+        inFlight.incrementAndGet();
+        try {
+            if (retired.get()) {
+                return false;
+            }
+            pending.addAndGet(bucket, count);
+            int value = totals.addAndGet(bucket, count);
+            totalCount.addAndGet(count);
+            offerTop(bucket, value);
+            accessedAt = System.currentTimeMillis();
+            return true;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    //  더 이상 add 를 받지 않는다. 진행중인 add 가 끝날 때까지 기다린 뒤 남은 값은 drain 으로 가져가면 된다
+    public void retire() {
+        retired.set(true);
+        while (inFlight.get() > 0) {
+            Thread.yield();
+        }
+    }
+
+    //  retire 한 카운터를 다시 쓴다 (map 에 되돌린 뒤에 부른다, 그 사이 add 는 getCounter 로 다시 돌아온다)
+    public void revive() {
+        retired.set(false);
+        touch();
+    }
+
+    //  flush 할 값을 가져간다. 없으면 null
+    public int[] drain() {
+        int[] deltas = new int[pending.length()];
+        boolean changed = false;
+        for (int bucket = 0; bucket < deltas.length; bucket++) {
+            deltas[bucket] = pending.getAndSet(bucket, 0);
+            changed |= deltas[bucket] != 0;
+        }
+        return changed ? deltas : null;
+    }
+
+    public boolean hasPending() {
+        for (int bucket = 0; bucket < pending.length(); bucket++) {
+            if (pending.get(bucket) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //  flush 실패시 되돌린다
+    public void restore(int[] deltas) {
+        for (int bucket = 0; bucket < deltas.length; bucket++) {
+            if (deltas[bucket] != 0) {
+                pending.addAndGet(bucket, deltas[bucket]);
+            }
+        }
+    }
+
+    //  DB 값(다른 서버에서 저장한 것 포함)에 아직 저장 안 된 값을 더해서 다시 맞춘다
+    public synchronized void sync(byte[] persisted) {
+        Arrays.fill(scratch, 0);
+        LikesCodec.decodeInto(persisted, scratch);
+        sync(scratch);
+    }
+
+    public synchronized void sync(int[] persisted) {
+        long sum = 0;
+        for (int bucket = 0; bucket < totals.length(); bucket++) {
+            int value = (bucket < persisted.length ? persisted[bucket] : 0) + pending.get(bucket);
+            totals.set(bucket, value);
+            sum += value;
+        }
+        totalCount.set(sum);
+
+        int[] ranked = new int[0];
+        for (int bucket = 0; bucket < totals.length(); bucket++) {
+            if (totals.get(bucket) > 0) {
+                ranked = rank(ranked, bucket);
+            }
+        }
+        top.set(ranked);
+        syncedAt = System.currentTimeMillis();
+    }
+
+    public Map<Integer, Integer> toMap() {
+        Map<Integer, Integer> likesData = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < totals.length(); bucket++) {
+            int value = totals.get(bucket);
+            if (value != 0) {
+                likesData.put(bucket, value);
+            }
+        }
+        return likesData;
+    }
+
+    //  좋아요가 많은 구간 3개, 모자라면 -1
+    public int[] getTop() {
+        int[] current = top.get();
+        int[] result = {-1, -1, -1};
+        System.arraycopy(current, 0, result, 0, current.length);
+        return result;
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public void touch() {
+        accessedAt = System.currentTimeMillis();
+    }
+
+    public boolean isIdle(long now, long idleMillis) {
+        return now - accessedAt >= idleMillis;
+    }
+
+    public boolean isStale(long now, long syncMillis) {
+        return now - syncedAt >= syncMillis;
+    }
+
+    private void offerTop(int bucket, int value) {
+        while (true) {
+            int[] current = top.get();
+            if (current.length == TOP_SIZE && !contains(current, bucket)
+                    && !isBefore(bucket, value, current[TOP_SIZE - 1])) {
+                return;
+            }
+            int[] next = rank(current, bucket);
+            if (Arrays.equals(current, next) || top.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    //  current 에 bucket 을 넣고 (값 내림차순, 같으면 앞 구간 먼저) 3개까지
+    private int[] rank(int[] current, int bucket) {
+        int[] candidates = new int[current.length + 1];
+        int size = 0;
+        for (int each : current) {
+            if (each != bucket) {
+                candidates[size++] = each;
+            }
+        }
+        candidates[size++] = bucket;
+
+        for (int i = 1; i < size; i++) {
+            int candidate = candidates[i];
+            int value = totals.get(candidate);
+            int j = i - 1;
+            while (j >= 0 && isBefore(candidate, value, candidates[j])) {
+                candidates[j + 1] = candidates[j];
+                j--;
+            }
+            candidates[j + 1] = candidate;
+        }
+        return Arrays.copyOf(candidates, Math.min(size, TOP_SIZE));
+    }
+
+    private boolean isBefore(int bucket, int value, int other) {
+        int otherValue = totals.get(other);
+        return value > otherValue || (value == otherValue && bucket < other);
+    }
+
+    private static boolean contains(int[] buckets, int bucket) {
+        for (int each : buckets) {
+            if (each == bucket) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
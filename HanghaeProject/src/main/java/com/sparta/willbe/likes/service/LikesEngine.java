@@ -0,0 +1,203 @@
+package com.sparta.willbe.likes.service;
+
+import com.sparta.willbe.interview.exception.InterviewNotFoundException;
+import com.sparta.willbe.interview.model.Interview;
+import com.sparta.willbe.interview.repository.InterviewRepository;
+import com.sparta.willbe.likes.model.Likes;
+import com.sparta.willbe.likes.model.LikesCodec;
+import com.sparta.willbe.likes.repository.LikesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 좋아요는 메모리의 LikesCounter 에 바로 더하고, 주기적으로 모아서 DB 에 반영한다.
+ * 반영은 likes 행을 PESSIMISTIC_WRITE 로 잠그고 더하는 방식이라 서버가 여러 대여도 값이 덮어써지지 않는다.
+ * 반영하면서 읽은 DB 값으로 카운터를 다시 맞추므로 다른 서버의 좋아요도 sync-ms 안에 보인다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikesEngine {
+    // 영상 길이를 모르면 1시간 분량까지 (예전 JSON 을 읽을 때의 최대 구간 수이기도 하다)
+    static final int DEFAULT_BUCKETS = 3600 / LikesService.INTERVAL + 1;
+
+    private final LikesRepository likesRepository;
+    private final InterviewRepository interviewRepository;
+    private final LikesMigrationService likesMigrationService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${likes.counter.sync-ms:5000}")
+    private long syncMillis;
+
+    @Value("${likes.counter.idle-ms:600000}")
+    private long idleMillis;
+
+    private final ConcurrentHashMap<Long, LikesCounter> counters = new ConcurrentHashMap<>();
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public LikesCounter getCounter(Long interviewId) {
+        LikesCounter counter = counters.get(interviewId);
+        if (counter == null) {
+            LikesCounter loaded = load(interviewId);
+            counter = counters.putIfAbsent(interviewId, loaded);
+            if (counter == null) {
+                counter = loaded;
+            }
+        }
+        counter.touch();
+        return counter;
+    }
+
+    //  bucket 은 호출하는 쪽에서 counter.size() 안으로 맞춰서 넘긴다
+    public LikesCounter add(Long interviewId, int bucket, int count) {
+        while (true) {
+            LikesCounter counter = getCounter(interviewId);
+            if (counter.add(Math.min(bucket, counter.size() - 1), count)) {
+                return counter;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${likes.counter.flush-interval-ms:1000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, LikesCounter> entry : counters.entrySet()) {
+            Long interviewId = entry.getKey();
+            LikesCounter counter = entry.getValue();
+            try {
+                // 오래 안 쓴 카운터는 내리고, 남은 값(retire 직전에 들어온 값 포함)은 마지막으로 저장한다
+                if (counter.isIdle(now, idleMillis)) {
+                    counters.remove(interviewId, counter);
+                    counter.retire();
+                    int[] leftovers = counter.drain();
+                    if (leftovers != null) {
+                        try {
+                            flush(interviewId, counter, leftovers);
+                        } catch (RuntimeException e) {
+                            handOver(interviewId, counter);
+                            throw e;
+                        }
+                    }
+                    continue;
+                }
+                int[] deltas = counter.drain();
+                if (deltas != null) {
+                    flush(interviewId, counter, deltas);
+                } else if (counter.isStale(now, syncMillis)) {
+                    counter.sync(readBuckets(likesRepository.findByInterviewId(interviewId)));
+                }
+            } catch (Exception e) {
+                log.error("LIKES FLUSH FAIL (INTERVIEW {}) - {}", interviewId, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Long interviewId : counters.keySet()) {
+            LikesCounter counter = counters.remove(interviewId);
+            if (counter == null) {
+                continue;
+            }
+            counter.retire();
+            int[] deltas = counter.drain();
+            if (deltas != null) {
+                try {
+                    flush(interviewId, counter, deltas);
+                } catch (Exception e) {
+                    log.error("LIKES FLUSH ON SHUTDOWN FAIL (INTERVIEW {}) - {}", interviewId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    public int getCounterCount() {
+        return counters.size();
+    }
+
+    private LikesCounter load(Long interviewId) {
+        Interview interview = interviewRepository.findById(interviewId)
+                .orElseThrow(InterviewNotFoundException::new);
+        int bucketCount = LikesService.getBucketCount(interview);
+        Likes likes = likesRepository.findByInterviewId(interviewId);
+        return new LikesCounter(bucketCount > 0 ? bucketCount : DEFAULT_BUCKETS, readBuckets(likes));
+    }
+
+    //  아직 JSON 에서 옮기지 않은 행이면 JSON 을 읽는다
+    private byte[] readBuckets(Likes likes) {
+        if (likes == null) {
+            return null;
+        }
+        if (!likes.isMigrated()) {
+            return LikesCodec.encode(likesMigrationService.readLegacy(likes.getLegacyData()));
+        }
+        return likes.getBuckets();
+    }
+
+    private void flush(Long interviewId, LikesCounter counter, int[] deltas) {
+        int[] merged;
+        try {
+            merged = transactionTemplate.execute(status -> merge(interviewId, deltas));
+        } catch (RuntimeException e) {
+            counter.restore(deltas);
+            throw e;
+        }
+        if (merged == null) {
+            // 인터뷰가 삭제됨
+            counters.remove(interviewId, counter);
+            return;
+        }
+        counter.sync(merged);
+    }
+
+    //  내린 카운터의 저장 실패: 아무도 안 보는 카운터에 남기면 좋아요가 사라지므로 map 에 되돌린다
+    //  그 사이 새 카운터가 불러와졌으면 남은 값을 그쪽 pending 으로 옮긴다 (totals 는 다음 sync 때 맞춰진다)
+    private void handOver(Long interviewId, LikesCounter counter) {
+        LikesCounter live = counters.putIfAbsent(interviewId, counter);
+        if (live == null) {
+            counter.revive();
+            return;
+        }
+        int[] pending = counter.drain();
+        if (pending != null) {
+            live.restore(pending);
+        }
+    }
+
+    private int[] merge(Long interviewId, int[] deltas) {
+        Likes likes = likesRepository.findByInterviewIdForUpdate(interviewId).orElse(null);
+        if (likes == null) {
+            Interview interview = interviewRepository.findById(interviewId).orElse(null);
+            if (interview == null) {
+                return null;
+            }
+            likes = likesRepository.save(Likes.builder()
+                    .interview(interview)
+                    .build());
+        }
+
+        byte[] persisted = readBuckets(likes);
+        int[] merged = new int[Math.max(LikesCodec.size(persisted), deltas.length)];
+        LikesCodec.decodeInto(persisted, merged);
+        for (int bucket = 0; bucket < deltas.length; bucket++) {
+            merged[bucket] += deltas[bucket];
+        }
+        likes.changeBuckets(merged);
+        return merged;
+    }
+}
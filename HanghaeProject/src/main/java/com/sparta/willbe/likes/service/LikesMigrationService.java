@@ -0,0 +1,116 @@
+package com.sparta.willbe.likes.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.willbe.likes.model.Likes;
+import com.sparta.willbe.likes.repository.LikesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * likes_data(JSON) 에 남아있는 좋아요를 likes_blob(LikesCodec) 으로 옮긴다.
+ * 서버가 뜰 때 한 번 돌고, 옮기기 전 행은 LikesEngine 이 readLegacy 로 직접 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LikesMigrationService {
+    private static final TypeReference<Map<Integer, Integer>> LEGACY_TYPE = new TypeReference<Map<Integer, Integer>>() {
+    };
+
+    private final LikesRepository likesRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${likes.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${likes.migration.batch-size:200}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int migrated = 0;
+        try {
+            while (true) {
+                Integer count = transactionTemplate.execute(status -> migrateBatch());
+                if (count == null || count == 0) {
+                    break;
+                }
+                migrated += count;
+            }
+        } catch (Exception e) {
+            log.error("LIKES MIGRATION FAIL after {} rows - {}", migrated, e.getMessage());
+            return;
+        }
+        if (migrated > 0) {
+            log.info("LIKES MIGRATION DONE - {} rows", migrated);
+        }
+    }
+
+    //  JSON 이 깨져 있으면 빈 값으로 본다 (안 그러면 매번 다시 옮기려고 한다)
+    //  key 는 클라이언트가 보낸 time/7 그대로라 믿을 수 없다. 배열은 DEFAULT_BUCKETS 까지만 만들고
+    //  그 뒤 구간은 LikesService.add 처럼 마지막 구간으로 모은다
+    public int[] readLegacy(String json) {
+        if (json == null || json.isEmpty()) {
+            return new int[0];
+        }
+        Map<Integer, Integer> likesData;
+        try {
+            likesData = objectMapper.readValue(json, LEGACY_TYPE);
+        } catch (IOException e) {
+            log.warn("LIKES LEGACY JSON PARSE FAIL - {}", e.getMessage());
+            return new int[0];
+        }
+
+        int lastBucket = LikesEngine.DEFAULT_BUCKETS - 1;
+        int maxBucket = -1;
+        for (Map.Entry<Integer, Integer> entry : likesData.entrySet()) {
+            if (entry.getKey() != null && entry.getKey() >= 0 && entry.getValue() != null) {
+                maxBucket = Math.max(maxBucket, Math.min(entry.getKey(), lastBucket));
+            }
+        }
+        int[] buckets = new int[maxBucket + 1];
+        for (Map.Entry<Integer, Integer> entry : likesData.entrySet()) {
+            if (entry.getKey() != null && entry.getKey() >= 0 && entry.getValue() != null) {
+                int bucket = entry.getKey();
+                if (bucket > lastBucket) {
+                    log.warn("LIKES LEGACY BUCKET {} OUT OF RANGE, clamp to bucket {}", bucket, lastBucket);
+                    bucket = lastBucket;
+                }
+                long value = (long) buckets[bucket] + Math.max(entry.getValue(), 0);
+                buckets[bucket] = (int) Math.min(value, Integer.MAX_VALUE);
+            }
+        }
+        return buckets;
+    }
+
+    private int migrateBatch() {
+        List<Long> ids = likesRepository.findLegacyIds(PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // LikesEngine 의 flush 와 겹치지 않게 잠그고 옮긴다
+        for (Likes likes : likesRepository.findAllByIdForUpdate(ids)) {
+            if (!likes.isMigrated()) {
+                likes.changeBuckets(readLegacy(likes.getLegacyData()));
+            }
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,98 @@
+package com.sparta.willbe.likes.service;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (유저, 인터뷰) 별 좋아요 토큰 버킷.
+ * 버킷 상태는 "다음 토큰이 다 찰 시각" 하나라서 AtomicLong CAS 로 락 없이 꺼낸다 (GCRA).
+ * 초당 per-second 개씩 차고 burst 개까지 한 번에 쓸 수 있다. 모자라면 거절하지 않고 있는 만큼만 허용한다.
+ */
+@Component
+public class LikesRateLimiter {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Value("${likes.rate.per-second:10}")
+    private int perSecond;
+
+    @Value("${likes.rate.burst:30}")
+    private int burst;
+
+    private final ConcurrentHashMap<Key, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttledRequests = new LongAdder();
+    private final LongAdder requestedLikes = new LongAdder();
+    private final LongAdder grantedLikes = new LongAdder();
+
+    //  허용된 좋아요 수 (0 ~ count)
+    public int acquire(Long userId, Long interviewId, int count) {
+        long interval = SECOND / perSecond;
+        long tolerance = interval * burst;
+        AtomicLong theoretical = buckets.computeIfAbsent(new Key(userId, interviewId), key -> new AtomicLong(System.nanoTime()));
+
+        int granted;
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoretical.get();
+            long base = current - now > 0 ? current : now;
+            long available = (now + tolerance - base) / interval;
+            granted = (int) Math.max(0, Math.min(count, available));
+            if (granted == 0 || theoretical.compareAndSet(current, base + granted * interval)) {
+                break;
+            }
+        }
+
+        requests.increment();
+        requestedLikes.add(count);
+        grantedLikes.add(granted);
+        if (granted < count) {
+            throttledRequests.increment();
+        }
+        return granted;
+    }
+
+    //  다 찬 버킷은 새로 만든 것과 같으니 내린다
+    @Scheduled(fixedDelayString = "${likes.rate.cleanup-interval-ms:60000}")
+    public void cleanup() {
+        long now = System.nanoTime();
+        for (Map.Entry<Key, AtomicLong> entry : buckets.entrySet()) {
+            if (entry.getValue().get() - now <= 0) {
+                buckets.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(buckets.size(), perSecond, burst, requests.sum(), throttledRequests.sum(),
+                requestedLikes.sum(), grantedLikes.sum());
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final Long userId;
+        private final Long interviewId;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private int activeBuckets;
+        private int perSecond;
+        private int burst;
+        private long requests;
+        private long throttledRequests;
+        private long requestedLikes;
+        private long grantedLikes;
+    }
+}
@@ -1,163 +1,134 @@
 package com.sparta.willbe.likes.service;
 
-import com.sparta.willbe.interview.exception.InterviewNotFoundException;
-import com.sparta.willbe.likes.model.Likes;
-import com.sparta.willbe.likes.repository.LikesRepository;
 import com.sparta.willbe.interview.model.Interview;
-import com.sparta.willbe.interview.repository.InterviewRepository;
+import com.sparta.willbe.interview.model.MediaInfo;
+import com.sparta.willbe.likes.dto.LikesBatchRequestDto;
 import com.sparta.willbe.likes.dto.LikesResponseDto;
+import com.sparta.willbe.likes.exception.LikesBatchSizeInvalidException;
+import com.sparta.willbe.likes.exception.LikesCountInvalidException;
+import com.sparta.willbe.likes.exception.LikesTimeInvalidException;
 import com.sparta.willbe.user.dto.UserInfoResponseDto;
 import com.sparta.willbe.user.model.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.transaction.Transactional;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class LikesService {
 
-    private final LikesRepository likesRepository;
-    private final InterviewRepository interviewRepository;
+    // 좋아요를 모으는 구간 (초)
+    public static final int INTERVAL = 7;
 
+    private final LikesEngine likesEngine;
+    private final LikesRateLimiter likesRateLimiter;
 
-    public LikesResponseDto addLike(Long videoId, User user, int time, int count) {
-        final int INTERVAL = 7;
-        Likes likes;
-        int totalCount = 0;
-        int timeSec = time / INTERVAL;
+    @Value("${likes.batch.max-size:50}")
+    private int maxBatchSize;
 
-        log.info("LIKE ADD REQUEST!!! ::: count : {}, time : {}, videoId : {}", count, time, videoId);
-        Interview interview = interviewRepository.findById(videoId).orElseThrow(
-                InterviewNotFoundException::new
-        );
-
-        likes = likesRepository.findByInterviewId(videoId);
-        Map<Integer, Integer> map = new HashMap<>();
-
-        if (likes == null) {
-            likes = likesRepository.save(Likes.builder()
-                    .interview(interview)
-                    .likesData(map)
-                    .build());
-        } else {
-            map = likes.getLikesData();
+    // 영상 길이를 알면 구간 개수, 모르면 0
+    public static int getBucketCount(Interview interview) {
+        MediaInfo mediaInfo = interview.getMediaInfo();
+        if (mediaInfo == null || mediaInfo.getDurationMillis() == null) {
+            return 0;
         }
+        long intervalMillis = INTERVAL * 1000L;
+        return (int) ((mediaInfo.getDurationMillis() + intervalMillis - 1) / intervalMillis);
+    }
+
+    //  메모리 카운터에 더하고 바로 응답 (DB 반영은 LikesEngine 이 모아서)
+    public LikesResponseDto addLike(Long videoId, User user, int time, int count) {
+        log.info("LIKE ADD REQUEST!!! ::: count : {}, time : {}, videoId : {}", count, time, videoId);
+        validate(time, count);
 
-        log.info("time convet to sec is : {}", timeSec);
-        log.info("what is value in {} : {} ", timeSec, map.getOrDefault(timeSec, 0));
-        map.put(timeSec, map.getOrDefault(timeSec, 0) + count);
-        likes.setLikesData(map);
-        log.info("************GET TOTAL COUNT***************");
-        for (int value : likes.getLikesData().values()) {
-            totalCount += value;
+        LikesCounter counter = likesEngine.getCounter(videoId);
+        int granted = likesRateLimiter.acquire(user.getId(), videoId, count);
+        if (granted < count) {
+            log.info("UID {} likes throttled ::: requested : {}, granted : {}", user.getId(), count, granted);
         }
-        log.info("total count is : {}", totalCount);
-        log.info("*************GET TOP THREE**************");
-        List<Integer> findTopThree = map.entrySet().stream().sorted(Map.Entry.<Integer, Integer>comparingByValue()
-                .reversed()).limit(3).map(Map.Entry::getKey).collect(Collectors.toList());
-
-        if (findTopThree.size() == 2) {
-            findTopThree.add(-1);
-        } else if (findTopThree.size() == 1) {
-            findTopThree.add(-1);
-            findTopThree.add(-1);
+        if (granted > 0) {
+            counter = add(videoId, counter, time, granted);
         }
-        log.info("Top Three is : {}", findTopThree);
+        return toResponse(counter, user);
+    }
 
+    //  여러 번 누른 좋아요를 한 번에, 제한에 걸리면 앞에서부터 허용된 만큼만
+    public LikesResponseDto addLikes(Long videoId, User user, List<LikesBatchRequestDto.Like> likes) {
+        if (likes == null || likes.isEmpty() || likes.size() > maxBatchSize) {
+            throw new LikesBatchSizeInvalidException();
+        }
+        log.info("LIKE BATCH REQUEST!!! ::: size : {}, videoId : {}", likes.size(), videoId);
 
-        UserInfoResponseDto.UserBody userInfoResponseDto = UserInfoResponseDto.UserBody.builder()
-                .introduce(user.getIntroduce())
-                .profileImageUrl(user.getProfileImageUrl())
-                .nickname(user.getNickname())
-                .id(user.getId())
-                .githubLink(user.getGithubLink())
-                .build();
+        long requested = 0;
+        for (LikesBatchRequestDto.Like like : likes) {
+            validate(like.getTime(), like.getCount());
+            requested += like.getCount();
+        }
 
-        LikesResponseDto likesResponseDto = new LikesResponseDto(likes.getLikesData(),
-                Long.valueOf(findTopThree.get(0)) * INTERVAL,
-                Long.valueOf(findTopThree.get(1)) * INTERVAL,
-                Long.valueOf(findTopThree.get(2)) * INTERVAL,
-                totalCount,
-                userInfoResponseDto);
-        return likesResponseDto;
+        LikesCounter counter = likesEngine.getCounter(videoId);
+        int remaining = likesRateLimiter.acquire(user.getId(), videoId, (int) Math.min(requested, Integer.MAX_VALUE));
+        if (remaining < requested) {
+            log.info("UID {} likes throttled ::: requested : {}, granted : {}", user.getId(), requested, remaining);
+        }
+        for (LikesBatchRequestDto.Like like : likes) {
+            if (remaining == 0) {
+                break;
+            }
+            int count = Math.min(like.getCount(), remaining);
+            remaining -= count;
+            counter = add(videoId, counter, like.getTime(), count);
+        }
+        return toResponse(counter, user);
     }
 
+    //  저장된 값 + 아직 저장 안 된 값
     public LikesResponseDto getLike(Long videoId, User user) {
-        final int INTERVAL = 7;
-        int totalCount = 0;
-        List<Integer> findTopThree;
-        Map<Integer, Integer> map;
-        LikesResponseDto likesResponseDto;
-
-        Interview interview = interviewRepository.findById(videoId).orElseThrow(
-                InterviewNotFoundException::new
-        );
-
-        Likes likes = likesRepository.findByInterviewId(videoId);
-
-        if (likes == null) {
-            map = new HashMap<Integer, Integer>();
-
-            likes = likesRepository.save(Likes.builder()
-                    .interview(interview)
-                    .likesData(map)
-                    .build());
-            totalCount = 0;
-            findTopThree = new ArrayList<>();
-            findTopThree.add(-1);
-            findTopThree.add(-1);
-            findTopThree.add(-1);
-        } else {
-            map = likes.getLikesData();
-            for (int value : likes.getLikesData().values()) {
-                totalCount += value;
-            }
+        return toResponse(likesEngine.getCounter(videoId), user);
+    }
 
-            findTopThree = map.entrySet().stream().sorted(Map.Entry.<Integer, Integer>comparingByValue()
-                    .reversed()).limit(3).map(Map.Entry::getKey).collect(Collectors.toList());
-
-            if (findTopThree.size() == 2) {
-                findTopThree.add(-1);
-            } else if (findTopThree.size() == 1) {
-                findTopThree.add(-1);
-                findTopThree.add(-1);
-            } else if (findTopThree.size() == 0) {
-                findTopThree.add(-1);
-                findTopThree.add(-1);
-                findTopThree.add(-1);
-            }
+    private void validate(int time, int count) {
+        if (count <= 0) {
+            throw new LikesCountInvalidException();
         }
-        if (user != null) {
-            UserInfoResponseDto.UserBody userInfoResponseDto = UserInfoResponseDto.UserBody.builder()
-                    .introduce(user.getIntroduce())
-                    .profileImageUrl(user.getProfileImageUrl())
-                    .nickname(user.getNickname())
-                    .id(user.getId())
-                    .githubLink(user.getGithubLink())
-                    .build();
-            likesResponseDto = new LikesResponseDto(likes.getLikesData(),
-                    Long.valueOf(findTopThree.get(0)) * INTERVAL,
-                    Long.valueOf(findTopThree.get(1)) * INTERVAL,
-                    Long.valueOf(findTopThree.get(2)) * INTERVAL,
-                    totalCount,
-                    userInfoResponseDto);
-        } else {
-            likesResponseDto = LikesResponseDto.builder()
-                    .likesData(likes.getLikesData())
-                    .TopOne(Long.valueOf(findTopThree.get(0)) * INTERVAL)
-                    .TopTwo(Long.valueOf(findTopThree.get(1)) * INTERVAL)
-                    .TopThree(Long.valueOf(findTopThree.get(2)) * INTERVAL)
-                    .totalCount(totalCount)
-                    .build();
+        if (time < 0) {
+            throw new LikesTimeInvalidException();
         }
+    }
+
+    private LikesCounter add(Long videoId, LikesCounter counter, int time, int count) {
+        int timeSec = time / INTERVAL;
+
+        // 영상 끝을 살짝 넘긴 시간은 마지막 구간으로
+        if (timeSec >= counter.size()) {
+            log.info("time {} is out of video, clamp to bucket {}", time, counter.size() - 1);
+            timeSec = counter.size() - 1;
+        }
+        return likesEngine.add(videoId, timeSec, count);
+    }
 
-        return likesResponseDto;
+    private LikesResponseDto toResponse(LikesCounter counter, User user) {
+        int[] top = counter.getTop();
+
+        UserInfoResponseDto.UserBody userInfoResponseDto = user == null ? null : UserInfoResponseDto.UserBody.builder()
+                .introduce(user.getIntroduce())
+                .profileImageUrl(user.getProfileImageUrl())
+                .nickname(user.getNickname())
+                .id(user.getId())
+                .githubLink(user.getGithubLink())
+                .build();
+
+        return LikesResponseDto.builder()
+                .likesData(counter.toMap())
+                .TopOne((long) top[0] * INTERVAL)
+                .TopTwo((long) top[1] * INTERVAL)
+                .TopThree((long) top[2] * INTERVAL)
+                .totalCount((int) counter.getTotalCount())
+                .userInfoResponseDto(userInfoResponseDto)
+                .build();
     }
 
 }
@@ -0,0 +1,288 @@
+package com.sparta.willbe.likes.service;
+
+import com.sparta.willbe.likes.dto.LikesStreamDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 보고 있는 인터뷰의 좋아요 변화를 SSE 로 밀어준다.
+ * 인터뷰마다 채널 하나가 interval-ms 마다 LikesCounter 를 보고 바뀐 구간만 모든 구독자에게 넘긴다.
+ * 구독자마다 보낼 프레임 자리가 하나뿐이라, 느린 클라이언트는 중간 프레임이 합쳐져서 최신 값만 받는다.
+ * SseEmitter 는 비동기 요청이라 연결을 기다리는 동안 Tomcat 스레드를 잡지 않고, 실제 전송만 sender 풀에서 한다.
+ * send 는 블로킹이라 한 번에 프레임 하나만 보내고 풀에 양보하고, send-timeout-ms 넘게 못 보낸 구독자는 끊는다.
+ * 끊어도 이미 send 안에서 막힌 스레드는 Tomcat 의 쓰기 타임아웃(server.tomcat.connection-timeout) 이 지나야 풀려난다.
+ * 그래서 sender 풀은 sender-threads 개를 기본으로 두고, 막힌 스레드 대신 sender-max-threads 까지 늘려 다른 구독자를 계속 보낸다.
+ * sender-max-threads 는 "connection-timeout 동안 막힐 수 있는 느린 클라이언트 수 + sender-threads" 로 잡는다.
+ * 그것도 다 차면 이번 프레임은 보내지 않고 다음 publish 때 (합쳐진 최신 값으로) 다시 보낸다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LikesStreamService {
+    private final LikesEngine likesEngine;
+
+    @Value("${likes.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${likes.stream.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    @Value("${likes.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${likes.stream.sender-max-threads:64}")
+    private int senderMaxThreads;
+
+    @Value("${likes.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        // 큐 없이 넘긴다: 쉬는 스레드가 없으면 max 까지 새로 만들고, 그래도 없으면 거절 (dispatch 가 다음 차례로 미룬다)
+        sender = new ThreadPoolExecutor(senderThreads, Math.max(senderThreads, senderMaxThreads),
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "likes-stream-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    public SseEmitter subscribe(Long interviewId) {
+        // 없는 인터뷰면 여기서 InterviewNotFoundException
+        LikesCounter counter = likesEngine.getCounter(interviewId);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        // publish 가 빈 채널을 지우는 것과 겹치지 않게 compute 안에서 넣는다
+        Channel channel = channels.compute(interviewId, (id, current) -> {
+            Channel target = current == null ? new Channel() : current;
+            target.subscribers.add(subscriber);
+            return target;
+        });
+
+        emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> channel.subscribers.remove(subscriber));
+        emitter.onError(e -> channel.subscribers.remove(subscriber));
+
+        // 처음에는 전체 값을 보낸다
+        subscriber.offer(counter.toMap(), counter);
+        dispatch(subscriber);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${likes.stream.interval-ms:300}")
+    public void publish() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, Channel> entry : channels.entrySet()) {
+            Long interviewId = entry.getKey();
+            Channel channel = channels.computeIfPresent(interviewId,
+                    (id, current) -> current.subscribers.isEmpty() ? null : current);
+            if (channel == null) {
+                continue;
+            }
+            try {
+                publish(interviewId, channel, now);
+            } catch (Exception e) {
+                log.error("LIKES STREAM PUBLISH FAIL (INTERVIEW {}) - {}", interviewId, e.getMessage());
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        int count = 0;
+        for (Channel channel : channels.values()) {
+            count += channel.subscribers.size();
+        }
+        return count;
+    }
+
+    private void publish(Long interviewId, Channel channel, long now) {
+        // 구독자가 있는 동안은 카운터가 내려가지 않는다 (getCounter 가 touch)
+        LikesCounter counter = likesEngine.getCounter(interviewId);
+        if (channel.published == null || channel.published.length != counter.size()) {
+            // 처음(또는 카운터가 새로 불러와짐)이면 0 에서 시작해서 전부 다시 보낸다
+            channel.published = new int[counter.size()];
+        }
+
+        Map<Integer, Integer> changed = null;
+        for (int bucket = 0; bucket < channel.published.length; bucket++) {
+            int value = counter.get(bucket);
+            if (value != channel.published[bucket]) {
+                if (changed == null) {
+                    changed = new HashMap<>();
+                }
+                changed.put(bucket, value);
+                channel.published[bucket] = value;
+            }
+        }
+
+        boolean heartbeat = changed == null && now - channel.publishedAt >= heartbeatMillis;
+        if (changed != null || heartbeat) {
+            channel.publishedAt = now;
+        }
+        for (Subscriber subscriber : channel.subscribers) {
+            if (subscriber.isStuck(now, sendTimeoutMillis)) {
+                // 받지 않는 클라이언트가 sender 스레드를 붙잡고 있다
+                log.warn("LIKES STREAM SEND TIMEOUT (INTERVIEW {}) - DROP SUBSCRIBER", interviewId);
+                channel.subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                continue;
+            }
+            if (changed != null) {
+                subscriber.offer(changed, counter);
+            } else if (heartbeat) {
+                // 끊긴 연결은 보내봐야 알 수 있다
+                subscriber.ping();
+            } else if (!subscriber.hasPending()) {
+                // 풀이 차서 못 보낸 프레임이 남아 있으면 다시 보낸다
+                continue;
+            }
+            // 보내는 중이면 프레임 자리에 합쳐지고 다음 차례에 최신 값만 나간다
+            dispatch(subscriber);
+        }
+    }
+
+    //  구독자 하나는 한 번에 한 스레드만 보낸다. 보내는 동안 쌓인 값은 다음 한 번에 같이 나간다
+    //  보내는 중인 구독자는 건너뛰므로 느린 클라이언트는 중간 프레임을 못 받는다
+    private void dispatch(Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RuntimeException e) {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            // 한 번에 프레임 하나만 보내고 다른 구독자에게 스레드를 넘긴다
+            Frame frame = subscriber.take();
+            if (frame != null) {
+                subscriber.sendStartedAt = System.currentTimeMillis();
+                if (frame.data == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name("likes").data(frame.data));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 나감
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.sendStartedAt = 0;
+            subscriber.sending.set(false);
+        }
+        // 보내는 동안, 또는 sending 을 내리는 사이에 들어온 값
+        if (subscriber.hasPending()) {
+            dispatch(subscriber);
+        }
+    }
+
+    private static class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // publish 스케줄러 스레드에서만 쓴다
+        private int[] published;
+        private long publishedAt = System.currentTimeMillis();
+    }
+
+    private static class Frame {
+        private final LikesStreamDto data;
+
+        private Frame(LikesStreamDto data) {
+            this.data = data;
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // 0 이면 send 중이 아님
+        private volatile long sendStartedAt;
+
+        private Map<Integer, Integer> changed;
+        private int[] top;
+        private long totalCount;
+        private boolean ping;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private synchronized void offer(Map<Integer, Integer> values, LikesCounter counter) {
+            if (changed == null) {
+                changed = new HashMap<>();
+            }
+            changed.putAll(values);
+            top = counter.getTop();
+            totalCount = counter.getTotalCount();
+        }
+
+        private boolean isStuck(long now, long timeoutMillis) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && now - startedAt > timeoutMillis;
+        }
+
+        private synchronized void ping() {
+            ping = true;
+        }
+
+        private synchronized boolean hasPending() {
+            return changed != null || ping;
+        }
+
+        private synchronized Frame take() {
+            if (changed != null) {
+                LikesStreamDto data = LikesStreamDto.builder()
+                        .changed(changed)
+                        .TopOne((long) top[0] * LikesService.INTERVAL)
+                        .TopTwo((long) top[1] * LikesService.INTERVAL)
+                        .TopThree((long) top[2] * LikesService.INTERVAL)
+                        .totalCount(totalCount)
+                        .build();
+                changed = null;
+                ping = false;
+                return new Frame(data);
+            }
+            if (ping) {
+                ping = false;
+                return new Frame(null);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.sparta.willbe.mail.Service;
+
+import com.sparta.willbe.mail.model.MailOutbox;
+import io.sentry.Sentry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import javax.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 아웃박스(mail_outbox)에 쌓인 메일을 보낸다.
+ * 요청 스레드는 row 만 저장하고 돌아가고, 보내기는 전용 스레드 하나에서 한다.
+ * batch-size 개씩 lease 를 걸어 가져와서 SMTP 연결 한 번에 같이 보내고, 실패한 메일만 backoff 후 재시도한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailDispatcher {
+    private final MailOutboxService mailOutboxService;
+    private final MailService mailService;
+    private final JavaMailSender sender;
+
+    @Value("${mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    private final String workerId = createWorkerId();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mail-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //  회원가입 커밋 직후 (폴링을 기다리지 않는다)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMailQueued(MailQueuedEvent event) {
+        wakeUp();
+    }
+
+    //  재시도 예정 메일, 다른 노드에서 쌓인 메일
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    //  이미 돌고 있으면 끝난 뒤 한 번 더
+    private void wakeUp() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        try {
+            List<MailOutbox> batch;
+            do {
+                batch = mailOutboxService.claim(workerId, batchSize);
+                if (!batch.isEmpty()) {
+                    send(batch);
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("MAIL DISPATCHER {} DRAIN FAILED", workerId, e);
+            Sentry.captureException(e);
+        }
+    }
+
+    private void send(List<MailOutbox> batch) {
+        Map<MimeMessage, Long> mailIds = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+        for (MailOutbox mail : batch) {
+            try {
+                MimeMessage message = mailService.createVerificationMessage(mail.getToEmail(), mail.getValidationToken(), mail.getNickname());
+                mailIds.put(message, mail.getId());
+                messages.add(message);
+            } catch (Exception e) {
+                mailOutboxService.fail(mail.getId(), workerId, e.toString());
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        // JavaMailSenderImpl 은 한 번의 send 를 연결 하나로 보내고, 실패한 메일만 모아서 던진다
+        Map<Object, Exception> failed = Collections.emptyMap();
+        Exception failure = null;
+        long startedAt = System.currentTimeMillis();
+        try {
+            sender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages();
+            failure = e;
+        } catch (MailException e) {
+            failure = e;
+        }
+
+        int sentCount = 0;
+        for (MimeMessage message : messages) {
+            Long mailId = mailIds.get(message);
+            Exception error = failed.isEmpty() ? failure : failed.get(message);
+            if (error == null) {
+                mailOutboxService.sent(mailId, workerId);
+                sentCount++;
+            } else {
+                mailOutboxService.fail(mailId, workerId, error.toString());
+            }
+        }
+        log.info("MAIL DISPATCHER >> SENT {}/{} IN {}ms", sentCount, messages.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    private static String createWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,95 @@
+package com.sparta.willbe.mail.Service;
+
+import com.sparta.willbe.mail.model.MailOutbox;
+import com.sparta.willbe.mail.model.MailOutboxStatus;
+import com.sparta.willbe.mail.repository.MailOutboxRepository;
+import com.sparta.willbe.user.model.User;
+import io.sentry.Sentry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MailOutboxService {
+    private final MailOutboxRepository mailOutboxRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${mail.outbox.lease-minutes:5}")
+    private long leaseMinutes;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    //  회원가입 트랜잭션 안에서 불린다 (가입이 롤백되면 메일도 안 나간다)
+    @Transactional
+    public MailOutbox enqueueVerification(User user) {
+        MailOutbox mail = mailOutboxRepository.save(new MailOutbox(user.getEmail(), user.getNickname(), user.getToken()));
+        applicationEventPublisher.publishEvent(new MailQueuedEvent(mail.getId()));
+        return mail;
+    }
+
+    //  보낼 메일을 limit 개 까지 lease 걸어서 가져온다
+    @Transactional
+    public List<MailOutbox> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidateIds = mailOutboxRepository.findClaimableIds(MailOutboxStatus.PENDING, now, PageRequest.of(0, limit));
+
+        List<MailOutbox> claimed = new ArrayList<>();
+        for (Long mailId : candidateIds) {
+            int updated = mailOutboxRepository.acquireLease(mailId, workerId, now.plusMinutes(leaseMinutes), now, MailOutboxStatus.PENDING);
+            if (updated == 1) {
+                mailOutboxRepository.findById(mailId).ifPresent(claimed::add);
+            }
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void sent(Long mailId, String workerId) {
+        mailOutboxRepository.findById(mailId)
+                .filter(mail -> mail.isLeasedBy(workerId))
+                .ifPresent(MailOutbox::sent);
+    }
+
+    @Transactional
+    public void fail(Long mailId, String workerId, String error) {
+        MailOutbox mail = mailOutboxRepository.findById(mailId)
+                .filter(found -> found.isLeasedBy(workerId))
+                .orElse(null);
+        if (mail == null) {
+            return;
+        }
+        long backoff = backoffSeconds << Math.min(mail.getAttempts(), 16);
+        mail.failAttempt(error, maxAttempts, LocalDateTime.now().plusSeconds(backoff));
+        if (mail.getStatus() == MailOutboxStatus.DEAD) {
+            log.error("MAIL OUTBOX {} DEAD AFTER {} ATTEMPTS (TO {}) : {}", mailId, mail.getAttempts(), mail.getToEmail(), error);
+            Sentry.captureMessage("MAIL OUTBOX " + mailId + " DEAD : " + error);
+            return;
+        }
+        log.warn("MAIL OUTBOX {} RETRY IN {}s (ATTEMPT {}) : {}", mailId, backoff, mail.getAttempts(), error);
+    }
+
+    public Map<MailOutboxStatus, Long> countByStatus() {
+        Map<MailOutboxStatus, Long> counts = new EnumMap<>(MailOutboxStatus.class);
+        for (Object[] row : mailOutboxRepository.countGroupByStatus()) {
+            counts.put((MailOutboxStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+}
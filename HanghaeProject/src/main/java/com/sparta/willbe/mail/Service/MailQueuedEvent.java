@@ -0,0 +1,14 @@
+package com.sparta.willbe.mail.Service;
+
+// 아웃박스에 메일이 쌓였을 때 -> 커밋 후 MailDispatcher 가 폴링을 기다리지 않고 바로 보낸다
+public class MailQueuedEvent {
+    private final Long mailId;
+
+    public MailQueuedEvent(Long mailId) {
+        this.mailId = mailId;
+    }
+
+    public Long getMailId() {
+        return mailId;
+    }
+}
@@ -2,28 +2,28 @@ package com.sparta.willbe.mail.Service;
 
 import com.sparta.willbe.advice.Success;
 import com.sparta.willbe.mail.utils.EmailUtils;
+import com.sparta.willbe.mail.utils.MailTemplate;
 import io.sentry.Sentry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.text.StrSubstitutor;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileCopyUtils;
-import org.springframework.util.ResourceUtils;
 
-import javax.activation.FileDataSource;
+import javax.activation.DataSource;
 import javax.annotation.PostConstruct;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
-import java.io.File;
-import java.io.FileInputStream;
+import javax.mail.util.ByteArrayDataSource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.Map;
 
 
 @Slf4j
@@ -32,48 +32,50 @@ import java.util.HashMap;
 public class MailService implements EmailUtils{
 
     private final JavaMailSender sender;
-    private String htmlTemplate;
+    // 클래스패스에서 시작할 때 한 번 읽는다 (템플릿은 미리 나눠 두고, 로고는 메모리에)
+    private MailTemplate htmlTemplate;
+    private DataSource logo;
 
     @PostConstruct
     public void init() throws IOException{
-        final File file = ResourceUtils.getFile("./mail/mailtemplate.html");
-        final InputStream inputStream = new FileInputStream(file);
-        final byte[] byteData = FileCopyUtils.copyToByteArray(inputStream);
-        htmlTemplate = new String(byteData, StandardCharsets.UTF_8);
-    }
-    private String changeContents(HashMap param, String formatString) throws Exception{
-        StrSubstitutor sub = new StrSubstitutor(param);
-        return sub.replace(formatString);
+        try (InputStream inputStream = new ClassPathResource("mail/mailtemplate.html").getInputStream()) {
+            htmlTemplate = MailTemplate.parse(new String(FileCopyUtils.copyToByteArray(inputStream), StandardCharsets.UTF_8));
+        }
+        try (InputStream inputStream = new ClassPathResource("mail/logo.png").getInputStream()) {
+            // getInputStream 마다 새 스트림을 주므로 메일끼리 같이 써도 된다
+            logo = new ByteArrayDataSource(FileCopyUtils.copyToByteArray(inputStream), "image/png");
+        }
     }
 
-    private String createBodyMailText(String token, String email, String nickname) throws Exception {
-
-        HashMap mailParamMap = new HashMap();
+    private String createBodyMailText(String token, String email, String nickname) {
+        Map<String, String> mailParamMap = new HashMap<>();
         mailParamMap.put("USER_NAME", nickname);
         mailParamMap.put("USER_EMAIL", email);
         mailParamMap.put("VALIDATION_TOKEN", token);
 
-        String mailContents = changeContents(mailParamMap, htmlTemplate);
+        return htmlTemplate.render(mailParamMap);
+    }
+    // 인증 메일 (MailDispatcher 는 여러 개를 만들어 한 번에 보낸다)
+    public MimeMessage createVerificationMessage(String toEmail, String token, String nickname) throws Exception {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
-        return mailContents;
+        String body = createBodyMailText(token,toEmail,nickname);
+        helper.setTo(toEmail);
+        helper.setSubject("WILL_BE : 이메일 인증을 완료해 주세요\uD83D\uDE18");
+        helper.setText(body,true);
+
+        helper.addInline("logo",logo);
+        return message;
     }
+
     @Override
     public ResponseEntity<Success> sendEmail(String toEmail, String token, String nickname){
 
         ResponseEntity<Success> result ;
 
         try{
-             MimeMessage message = sender.createMimeMessage();
-             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            String body = createBodyMailText(token,toEmail,nickname);
-            helper.setTo(toEmail);
-            helper.setSubject("WILL_BE : 이메일 인증을 완료해 주세요\uD83D\uDE18");
-            helper.setText(body,true);
-
-            FileDataSource fileDataSource = new FileDataSource("./mail/logo.png");
-            helper.addInline("logo",fileDataSource);
-            sender.send(message);
+            sender.send(createVerificationMessage(toEmail, token, nickname));
             result = new ResponseEntity<Success>(new Success(true, "메일 발송 성공!"),HttpStatus.OK);
         }catch (MessagingException e){
             e.printStackTrace();
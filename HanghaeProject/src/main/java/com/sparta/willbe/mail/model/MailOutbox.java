@@ -0,0 +1,90 @@
+package com.sparta.willbe.mail.model;
+
+import com.sparta.willbe._global.timestamped.model.Timestamped;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 보낼 메일 (회원가입과 같은 트랜잭션에서 저장, MailDispatcher 가 보낸다)
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_mail_outbox_poll", columnList = "status, next_attempt_at"))
+public class MailOutbox extends Timestamped {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String toEmail;
+
+    @Column(nullable = false)
+    private String nickname;
+
+    @Column(nullable = false)
+    private String validationToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private MailOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = true)
+    private String leaseOwner;
+
+    @Column(nullable = true)
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(nullable = true, length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(nullable = true)
+    private LocalDateTime sentAt;
+
+    public MailOutbox(String toEmail, String nickname, String validationToken) {
+        this.toEmail = toEmail;
+        this.nickname = nickname;
+        this.validationToken = validationToken;
+        this.status = MailOutboxStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public void sent() {
+        this.status = MailOutboxStatus.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+        releaseLease();
+    }
+
+    //  nextAttemptAt 이후 다시 시도, 횟수 초과시 DEAD
+    public void failAttempt(String error, int maxAttempts, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (this.attempts >= maxAttempts) {
+            this.status = MailOutboxStatus.DEAD;
+        } else {
+            this.nextAttemptAt = nextAttemptAt;
+        }
+        releaseLease();
+    }
+
+    public boolean isLeasedBy(String workerId) {
+        return workerId.equals(this.leaseOwner);
+    }
+
+    private void releaseLease() {
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+    }
+}
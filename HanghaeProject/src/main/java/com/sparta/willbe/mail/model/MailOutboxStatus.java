@@ -0,0 +1,8 @@
+package com.sparta.willbe.mail.model;
+
+public enum MailOutboxStatus {
+    PENDING,
+    SENT,
+    // 재시도 횟수 초과 (관리자 확인용으로 남겨둔다)
+    DEAD
+}
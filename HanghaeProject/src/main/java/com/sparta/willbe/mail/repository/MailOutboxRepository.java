@@ -0,0 +1,30 @@
+package com.sparta.willbe.mail.repository;
+
+import com.sparta.willbe.mail.model.MailOutbox;
+import com.sparta.willbe.mail.model.MailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    //보낼 수 있는 메일 (재시도 시간 도래 + lease 없음/만료)
+    @Query("select m.id from MailOutbox m where m.status = ?1 and m.nextAttemptAt <= ?2 " +
+            "and (m.leaseExpiresAt is null or m.leaseExpiresAt < ?2) order by m.id asc")
+    List<Long> findClaimableIds(MailOutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    //lease 획득, 다른 노드가 먼저 가져갔으면 0
+    @Modifying(clearAutomatically = true)
+    @Query("update MailOutbox m set m.leaseOwner = ?2, m.leaseExpiresAt = ?3 where m.id = ?1 and m.status = ?5 " +
+            "and (m.leaseExpiresAt is null or m.leaseExpiresAt < ?4)")
+    int acquireLease(Long mailId, String workerId, LocalDateTime leaseExpiresAt, LocalDateTime now, MailOutboxStatus status);
+
+    @Query("select m.status, count(m) from MailOutbox m group by m.status")
+    List<Object[]> countGroupByStatus();
+}
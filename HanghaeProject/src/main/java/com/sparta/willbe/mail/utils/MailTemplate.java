@@ -0,0 +1,87 @@
+package com.sparta.willbe.mail.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ${NAME} 자리를 미리 찾아서 [문자열, 변수, 문자열, ...] 로 나눠 둔 메일 템플릿.
+ * 메일마다 템플릿 전체를 다시 훑지 않고 조각을 이어 붙이기만 한다.
+ * 값이 없는 변수는 StrSubstitutor 처럼 ${NAME} 그대로 남긴다.
+ */
+public final class MailTemplate {
+    private static final String PREFIX = "${";
+    private static final String SUFFIX = "}";
+
+    // 짝수 인덱스 = 문자열, 홀수 인덱스 = 변수 이름
+    private final String[] segments;
+    private final int literalLength;
+
+    // 스레드마다 하나씩 재사용 (렌더링 결과 크기는 거의 같다)
+    private final ThreadLocal<StringBuilder> builders;
+
+    private MailTemplate(String[] segments, int literalLength) {
+        this.segments = segments;
+        this.literalLength = literalLength;
+        this.builders = ThreadLocal.withInitial(() -> new StringBuilder(literalLength + 256));
+    }
+
+    public static MailTemplate parse(String template) {
+        List<String> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+        while (true) {
+            int start = template.indexOf(PREFIX, position);
+            int end = start < 0 ? -1 : template.indexOf(SUFFIX, start + PREFIX.length());
+            if (end < 0) {
+                String literal = template.substring(position);
+                segments.add(literal);
+                literalLength += literal.length();
+                break;
+            }
+            String literal = template.substring(position, start);
+            segments.add(literal);
+            segments.add(template.substring(start + PREFIX.length(), end));
+            literalLength += literal.length();
+            position = end + SUFFIX.length();
+        }
+        return new MailTemplate(segments.toArray(new String[0]), literalLength);
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder builder = builders.get();
+        builder.setLength(0);
+        return renderTo(values, builder).toString();
+    }
+
+    //  여러 명에게 보내는 메일 (다이제스트 등), 같은 builder 를 계속 쓴다
+    public List<String> renderAll(List<? extends Map<String, String>> valuesList) {
+        if (valuesList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> rendered = new ArrayList<>(valuesList.size());
+        StringBuilder builder = builders.get();
+        for (Map<String, String> values : valuesList) {
+            builder.setLength(0);
+            rendered.add(renderTo(values, builder).toString());
+        }
+        return rendered;
+    }
+
+    public StringBuilder renderTo(Map<String, String> values, StringBuilder builder) {
+        for (int i = 0; i < segments.length; i++) {
+            if (i % 2 == 0) {
+                builder.append(segments[i]);
+                continue;
+            }
+            String value = values.get(segments[i]);
+            if (value == null) {
+                builder.append(PREFIX).append(segments[i]).append(SUFFIX);
+            } else {
+                builder.append(value);
+            }
+        }
+        return builder;
+    }
+}
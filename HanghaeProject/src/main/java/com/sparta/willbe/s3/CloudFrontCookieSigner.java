@@ -0,0 +1,150 @@
+package com.sparta.willbe.s3;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// CloudFront signed cookie (custom policy)
+// prefix 하나에 대해 한 번 서명하면 그 아래 playlist/segment 전부를 쿠키로 접근할 수 있다. (segment 마다 presign 하지 않음)
+// 서명 결과는 만료까지 safety margin 이상 남아 있는 동안 재사용한다.
+@Slf4j
+@Component
+public class CloudFrontCookieSigner {
+
+    private static final long SECOND = 1000L;
+    private static final long MINUTE = SECOND * 60;
+
+    @Value("${cloud.aws.cloudfront.domain:}")
+    private String domain;
+
+    @Value("${cloud.aws.cloudfront.key-pair-id:}")
+    private String keyPairId;
+
+    // PKCS#8 PEM (openssl pkcs8 -topk8 -nocrypt 로 변환한 키)
+    @Value("${cloud.aws.cloudfront.private-key-path:}")
+    private String privateKeyPath;
+
+    @Value("${cloud.aws.cloudfront.cookie-domain:}")
+    private String cookieDomain;
+
+    @Value("${cloud.aws.cloudfront.cookie-ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${cloud.aws.s3.presigned-url.safety-margin-minutes:10}")
+    private long safetyMarginMinutes;
+
+    @Value("${cloud.aws.s3.presigned-url.max-size:10000}")
+    private int maxSize;
+
+    private PrivateKey privateKey;
+    private final ConcurrentHashMap<String, SignedPolicy> cache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (domain.isEmpty() || keyPairId.isEmpty() || privateKeyPath.isEmpty()) {
+            log.info("CLOUDFRONT SIGNED COOKIE DISABLED (NOT CONFIGURED)");
+            return;
+        }
+        try {
+            String pem = new String(Files.readAllBytes(Paths.get(privateKeyPath)), StandardCharsets.US_ASCII)
+                    .replaceAll("-----[A-Z ]+-----", "")
+                    .replaceAll("\\s", "");
+            privateKey = KeyFactory.getInstance("RSA")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(pem)));
+        } catch (Exception e) {
+            log.error("CLOUDFRONT PRIVATE KEY LOAD FAIL - {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return privateKey != null;
+    }
+
+    public String getUrl(String objectKey) {
+        return "https://" + domain + "/" + objectKey;
+    }
+
+    // prefix 는 "hls/12/" 처럼 '/' 로 끝나야 한다
+    public List<ResponseCookie> createCookies(String prefix) {
+        long now = System.currentTimeMillis();
+        SignedPolicy signed = cache.get(prefix);
+        if (signed == null || signed.expiresAt - now < safetyMarginMinutes * MINUTE) {
+            signed = sign(prefix, now);
+            if (cache.size() >= maxSize) {
+                cache.clear();
+            }
+            cache.put(prefix, signed);
+        }
+
+        long maxAgeSeconds = (signed.expiresAt - now) / SECOND;
+        String path = "/" + prefix;
+        List<ResponseCookie> cookies = new ArrayList<>();
+        cookies.add(cookie("CloudFront-Policy", signed.policy, path, maxAgeSeconds));
+        cookies.add(cookie("CloudFront-Signature", signed.signature, path, maxAgeSeconds));
+        cookies.add(cookie("CloudFront-Key-Pair-Id", keyPairId, path, maxAgeSeconds));
+        return cookies;
+    }
+
+    private SignedPolicy sign(String prefix, long now) {
+        long expiresAt = now + ttlMinutes * MINUTE;
+        String policy = "{\"Statement\":[{\"Resource\":\"" + getUrl(prefix) + "*\","
+                + "\"Condition\":{\"DateLessThan\":{\"AWS:EpochTime\":" + expiresAt / SECOND + "}}}]}";
+        byte[] policyBytes = policy.getBytes(StandardCharsets.UTF_8);
+        try {
+            Signature signature = Signature.getInstance("SHA1withRSA");
+            signature.initSign(privateKey);
+            signature.update(policyBytes);
+            return new SignedPolicy(toCookieSafe(policyBytes), toCookieSafe(signature.sign()), expiresAt);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("CLOUDFRONT POLICY SIGN FAIL", e);
+        }
+    }
+
+    private ResponseCookie cookie(String name, String value, String path, long maxAgeSeconds) {
+        ResponseCookie.ResponseCookieBuilder builder = ResponseCookie.from(name, value)
+                .path(path)
+                .maxAge(maxAgeSeconds)
+                .secure(true)
+                .httpOnly(true)
+                .sameSite("None");
+        if (!cookieDomain.isEmpty()) {
+            builder.domain(cookieDomain);
+        }
+        return builder.build();
+    }
+
+    // CloudFront 용 base64 ('+' -> '-', '=' -> '_', '/' -> '~')
+    private static String toCookieSafe(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes)
+                .replace('+', '-')
+                .replace('=', '_')
+                .replace('/', '~');
+    }
+
+    private static class SignedPolicy {
+        private final String policy;
+        private final String signature;
+        private final long expiresAt;
+
+        private SignedPolicy(String policy, String signature, long expiresAt) {
+            this.policy = policy;
+            this.signature = signature;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.sparta.willbe.s3;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// GET presigned URL 캐시
+// 만료까지 safety margin 이상 남아있으면 이미 서명된 URL을 그대로 돌려주고, 가까워지면 재서명한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresignedUrlCache {
+
+    private static final long MINUTE = 1000L * 60;
+
+    private final AmazonS3Client amazonS3Client;
+
+    @Value("${cloud.aws.s3.bucket}")
+    public String bucket;
+
+    @Value("${cloud.aws.s3.presigned-url.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${cloud.aws.s3.presigned-url.safety-margin-minutes:10}")
+    private long safetyMarginMinutes;
+
+    @Value("${cloud.aws.s3.presigned-url.max-size:10000}")
+    private int maxSize;
+
+    private final ConcurrentHashMap<String, SignedUrl> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public String getUrl(String objectKey) {
+        long now = System.currentTimeMillis();
+
+        SignedUrl cached = cache.get(objectKey);
+        if (cached != null && cached.isUsable(now, safetyMarginMinutes * MINUTE)) {
+            hits.increment();
+            return cached.getUrl();
+        }
+        misses.increment();
+
+        SignedUrl signed = sign(objectKey, now);
+        if (cached == null && cache.size() >= maxSize) {
+            evict(now);
+        }
+        cache.put(objectKey, signed);
+        return signed.getUrl();
+    }
+
+    // 객체 삭제/교체시 호출
+    public void invalidate(String objectKey) {
+        if (objectKey != null) {
+            cache.remove(objectKey);
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(cache.size(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private SignedUrl sign(String objectKey, long now) {
+        Date expireTime = new Date(now + ttlMinutes * MINUTE);
+
+        // Generate the pre-signed URL.
+        GeneratePresignedUrlRequest generatePresignedUrlRequest =
+                new GeneratePresignedUrlRequest(bucket, objectKey)
+                        .withMethod(HttpMethod.GET)
+                        .withExpiration(expireTime);
+
+        URL url = amazonS3Client.generatePresignedUrl(generatePresignedUrlRequest);
+
+        return new SignedUrl(url.toString(), expireTime.getTime());
+    }
+
+    // 만료 임박한 URL부터 정리하고, 그래도 가득 차 있으면 임의의 항목을 밀어낸다.
+    // 다른 스레드가 정리 중이면 기다리지 않고 넘어간다.
+    private void evict(long now) {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            long margin = safetyMarginMinutes * MINUTE;
+            Iterator<Map.Entry<String, SignedUrl>> it = cache.entrySet().iterator();
+            while (it.hasNext()) {
+                if (!it.next().getValue().isUsable(now, margin)) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+
+            int target = maxSize - Math.max(1, maxSize / 10);
+            it = cache.entrySet().iterator();
+            while (cache.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class SignedUrl {
+        private final String url;
+        private final long expiresAt;
+
+        boolean isUsable(long now, long margin) {
+            return expiresAt - now > margin;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private int size;
+        private int maxSize;
+        private long hits;
+        private long misses;
+        private long evictions;
+    }
+}
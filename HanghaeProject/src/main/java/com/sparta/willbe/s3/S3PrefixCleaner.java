@@ -0,0 +1,38 @@
+package com.sparta.willbe.s3;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// prefix 아래 객체 전부 삭제 (HLS 세그먼트, 스프라이트 등 인터뷰별 디렉토리)
+@Component
+@RequiredArgsConstructor
+public class S3PrefixCleaner {
+
+    private final AmazonS3Client amazonFullS3Client;
+
+    @Value("${cloud.aws.s3.bucket}")
+    public String bucket;
+
+    public void deleteAll(String prefix) {
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucket)
+                .withPrefix(prefix);
+        ListObjectsV2Result result;
+        do {
+            result = amazonFullS3Client.listObjectsV2(request);
+            String[] keys = result.getObjectSummaries().stream()
+                    .map(S3ObjectSummary::getKey)
+                    .toArray(String[]::new);
+            if (keys.length > 0) {
+                amazonFullS3Client.deleteObjects(new DeleteObjectsRequest(bucket).withKeys(keys));
+            }
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+    }
+}
@@ -51,7 +51,6 @@ public class ScrapController {
         log.info("UID " + loginUserId + " DELETE SCRAP INTERVIEW " + interviewId);
 
         ScrapInfoResponseDto body = scrapService.removeScrap(user, interviewId);
-        body.getScrap().setScrapsCount(scrapService.getScrapCount(interviewId));
         return new ResponseEntity<>(body, HttpStatus.OK);
     }
 }
@@ -13,6 +13,7 @@ import static javax.persistence.FetchType.LAZY;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_scrap_user_interview", columnNames = {"user_id", "interview_id"}))
 public class Scrap extends Timestamped {
 
     @Id
@@ -6,12 +6,22 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ScrapRepository extends JpaRepository<Scrap, Long> {
     Optional<Scrap> findByUser_IdAndInterview_Id(Long userId, Long interviewId);
 
+    //지운 행 수 (0 이면 스크랩한 적 없음)
+    @Modifying
+    @Query("delete from Scrap s where s.user.id = ?1 and s.interview.id = ?2")
+    int deleteByUserIdAndInterviewId(Long userId, Long interviewId);
+
+    //유저가 스크랩한 인터뷰 id 만 (scrap -> interview 로딩 없이)
+    @Query("select s.interview.id from Scrap s where s.user.id = ?1")
+    List<Long> findInterviewIdsByUserId(Long userId);
+
     @Modifying
     @Query(value = "delete from scrap where interview_id = ?1 ", nativeQuery=true)
     void deleteByInterviewId(Long interviewId);
@@ -0,0 +1,44 @@
+package com.sparta.willbe.scrap.service;
+
+import io.sentry.Sentry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+// scrap (user_id, interview_id) unique 제약을 걸기 전에 쌓인 중복 스크랩을 지우고 제약을 건다.
+// 중복이 있으면 ddl-auto 가 제약을 못 만들고 넘어가므로 서버가 뜬 뒤 여기서 마무리한다.
+// 지운 만큼의 scrap_count 는 InterviewCountReconcileService 가 맞춘다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScrapDedupMigration {
+    private static final String UNIQUE_KEY = "uk_scrap_user_interview";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            Integer exists = jdbcTemplate.queryForObject(
+                    "select count(*) from information_schema.statistics " +
+                            "where table_schema = database() and table_name = 'scrap' and index_name = ?",
+                    Integer.class, UNIQUE_KEY);
+            if (exists != null && exists > 0) {
+                return;
+            }
+
+            // 같은 (유저, 인터뷰) 중 가장 먼저 한 스크랩만 남긴다
+            int deleted = jdbcTemplate.update(
+                    "delete s1 from scrap s1 join scrap s2 " +
+                            "on s1.user_id = s2.user_id and s1.interview_id = s2.interview_id and s1.id > s2.id");
+            jdbcTemplate.execute("alter table scrap add constraint " + UNIQUE_KEY + " unique (user_id, interview_id)");
+            log.info("SCRAP DEDUP MIGRATION DONE - {} duplicates removed", deleted);
+        } catch (Exception e) {
+            log.error("SCRAP DEDUP MIGRATION FAIL - {}", e.getMessage());
+            Sentry.captureException(e);
+        }
+    }
+}
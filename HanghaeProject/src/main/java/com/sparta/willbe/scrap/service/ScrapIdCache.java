@@ -0,0 +1,103 @@
+package com.sparta.willbe.scrap.service;
+
+import com.sparta.willbe.scrap.repository.ScrapRepository;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 유저별 스크랩한 인터뷰 id 캐시 (scrapsMe 표시용)
+// scrap 테이블에서 interview_id 만 한 번에 읽어서 정렬된 배열로 들고 있는다.
+// 스크랩 추가/삭제시 커밋 후에 지우고, 다른 서버에서 바뀐 것은 ttl 이 지나면 다시 읽는다.
+@Component
+@RequiredArgsConstructor
+public class ScrapIdCache {
+    private final ScrapRepository scrapRepository;
+
+    @Value("${scrap.id-cache.ttl-ms:300000}")
+    private long ttlMillis;
+
+    @Value("${scrap.id-cache.max-size:10000}")
+    private int maxSize;
+
+    private final ConcurrentHashMap<Long, Cached> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+    // 읽는 도중에 지워졌으면 읽은 값을 넣지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ScrapIds get(Long userId) {
+        if (userId == null) {
+            return ScrapIds.EMPTY;
+        }
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(userId);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.scrapIds;
+        }
+
+        long sequence = invalidations.get();
+        ScrapIds scrapIds = ScrapIds.of(scrapRepository.findInterviewIdsByUserId(userId));
+        if (cached == null && cache.size() >= maxSize) {
+            evict(now);
+        }
+        if (sequence == invalidations.get()) {
+            cache.put(userId, new Cached(scrapIds, now + ttlMillis));
+        }
+        return scrapIds;
+    }
+
+    public void invalidate(Long userId) {
+        cache.remove(userId);
+        invalidations.incrementAndGet();
+    }
+
+    // 트랜잭션 안이면 커밋 뒤에 한 번 더 (커밋 전에 다른 요청이 옛 값을 다시 읽어 넣을 수 있어서)
+    public void invalidateAfterCommit(Long userId) {
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(long now) {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<Map.Entry<Long, Cached>> it = cache.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue().expiresAt <= now) {
+                    it.remove();
+                }
+            }
+
+            int target = maxSize - Math.max(1, maxSize / 10);
+            it = cache.entrySet().iterator();
+            while (cache.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Cached {
+        private final ScrapIds scrapIds;
+        private final long expiresAt;
+    }
+}
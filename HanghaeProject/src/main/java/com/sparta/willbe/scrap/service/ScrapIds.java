@@ -0,0 +1,32 @@
+package com.sparta.willbe.scrap.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+// 유저가 스크랩한 인터뷰 id (정렬된 long 배열, 이진 탐색)
+public final class ScrapIds {
+    public static final ScrapIds EMPTY = new ScrapIds(new long[0]);
+
+    private final long[] interviewIds;
+
+    private ScrapIds(long[] interviewIds) {
+        this.interviewIds = interviewIds;
+    }
+
+    public static ScrapIds of(List<Long> interviewIds) {
+        long[] ids = new long[interviewIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = interviewIds.get(i);
+        }
+        Arrays.sort(ids);
+        return new ScrapIds(ids);
+    }
+
+    public boolean contains(Long interviewId) {
+        return interviewId != null && Arrays.binarySearch(interviewIds, interviewId) >= 0;
+    }
+
+    public int size() {
+        return interviewIds.length;
+    }
+}
@@ -13,11 +13,10 @@ import com.sparta.willbe.user.exception.UserNotFoundException;
 import com.sparta.willbe.user.model.User;
 import com.sparta.willbe.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Objects;
-
 @RequiredArgsConstructor
 @Service
 @Transactional(readOnly = true)
@@ -25,6 +24,7 @@ public class ScrapService {
     private final InterviewRepository interviewRepository;
     private final UserRepository userRepository;
     private final ScrapRepository scrapRepository;
+    private final ScrapIdCache scrapIdCache;
 
     @Transactional
     public ScrapInfoResponseDto addScrap(User user, Long interviewId) {
@@ -32,41 +32,40 @@ public class ScrapService {
         User loginUser = userRepository.findById(user.getId())
                 .orElseThrow(UserNotFoundException::new);
 
-        for (Scrap scrap : loginUser.getScraps()) {
-            if (Objects.equals(scrap.getInterview().getId(), interviewId)) {
-                throw new ScrapPostConflictException();
-            }
-        }
-
         Interview interview = interviewRepository.findById(interviewId)
                 .orElseThrow(InterviewNotFoundException::new);
 
-        Long scrapCount = interview.getScraps().stream().count();
-
-        Scrap scrap = scrapRepository.save(new Scrap(loginUser, interview));
-        loginUser.getScraps().add(scrap);
-        interview.getScraps().add(scrap);
+        // 중복은 (user_id, interview_id) unique 제약으로 확인
+        try {
+            scrapRepository.saveAndFlush(new Scrap(loginUser, interview));
+        } catch (DataIntegrityViolationException e) {
+            throw new ScrapPostConflictException();
+        }
+        interviewRepository.addScrapCount(interviewId, 1);
+        scrapIdCache.invalidateAfterCommit(loginUser.getId());
 
-        return new ScrapInfoResponseDto(new ScrapInfoResponseDto.Data(interviewId, true, scrapCount + 1));
+        return new ScrapInfoResponseDto(new ScrapInfoResponseDto.Data(interviewId, true, interviewRepository.findScrapCountById(interviewId)));
 
     }
 
     @Transactional
     public ScrapInfoResponseDto removeScrap(User user, Long interviewId) {
 
-        Scrap scrap = scrapRepository.findByUser_IdAndInterview_Id(user.getId(), interviewId)
-                .orElseThrow(ScrapDeleteConflictException::new);
-
-        scrapRepository.deleteById(scrap.getId());
+        if (scrapRepository.deleteByUserIdAndInterviewId(user.getId(), interviewId) == 0) {
+            throw new ScrapDeleteConflictException();
+        }
+        interviewRepository.addScrapCount(interviewId, -1);
+        scrapIdCache.invalidateAfterCommit(user.getId());
 
-        return new ScrapInfoResponseDto(new ScrapInfoResponseDto.Data(interviewId, false, 999L));
+        return new ScrapInfoResponseDto(new ScrapInfoResponseDto.Data(interviewId, false, interviewRepository.findScrapCountById(interviewId)));
     }
 
     public Long getScrapCount(Long interviewId) {
-        Interview interview = interviewRepository.findById(interviewId)
-                .orElseThrow(InterviewNotFoundException::new);
-
-        return interview.getScraps().stream().count();
+        Long scrapCount = interviewRepository.findScrapCountById(interviewId);
+        if (scrapCount == null) {
+            throw new InterviewNotFoundException();
+        }
+        return scrapCount;
     }
 
 }
@@ -0,0 +1,123 @@
+package com.sparta.willbe.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 토큰 subject(email) -> 로그인 유저 캐시
+// 토큰이 붙은 요청마다 user 테이블을 읽던 것을 ttl 동안 한 번으로 줄인다.
+// 회원정보 수정, 탈퇴, 이메일 인증시 커밋 후에 지우고, 다른 서버에서 바뀐 것은 ttl 이 지나면 다시 읽는다.
+// 없는 회원(탈퇴, 미인증)은 캐시하지 않는다.
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+    private final UserDetailsService userDetailsService;
+
+    @Value("${security.principal-cache.ttl-ms:30000}")
+    private long ttlMillis;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private final ConcurrentHashMap<String, Cached> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+    // 읽는 도중에 지워졌으면 읽은 값을 넣지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserDetails get(String username) {
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(username);
+        if (cached != null && cached.expiresAt > now) {
+            hits.increment();
+            return cached.userDetails;
+        }
+        misses.increment();
+
+        long sequence = invalidations.get();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (cached == null && cache.size() >= maxSize) {
+            evict(now);
+        }
+        if (sequence == invalidations.get()) {
+            cache.put(username, new Cached(userDetails, now + ttlMillis));
+        }
+        return userDetails;
+    }
+
+    public void invalidate(String username) {
+        cache.remove(username);
+        invalidations.incrementAndGet();
+    }
+
+    // 트랜잭션 안이면 커밋 뒤에 한 번 더 (커밋 전에 다른 요청이 옛 값을 다시 읽어 넣을 수 있어서)
+    public void invalidateAfterCommit(String username) {
+        invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(username);
+                }
+            });
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(cache.size(), maxSize, hits.sum(), misses.sum());
+    }
+
+    private void evict(long now) {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<Map.Entry<String, Cached>> it = cache.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue().expiresAt <= now) {
+                    it.remove();
+                }
+            }
+
+            int target = maxSize - Math.max(1, maxSize / 10);
+            it = cache.entrySet().iterator();
+            while (cache.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Cached {
+        private final UserDetails userDetails;
+        private final long expiresAt;
+    }
+
+    // misses 가 곧 인증 때문에 나간 user 조회 수
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private int size;
+        private int maxSize;
+        private long hits;
+        private long misses;
+    }
+}
@@ -16,6 +16,7 @@ public class WebConfig implements WebMvcConfigurer {
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(authInterceptor)
                 .addPathPatterns("/**")
-                .excludePathPatterns();
+                // 만료된 access 토큰을 들고 재발급 받으러 온다
+                .excludePathPatterns("/token/**");
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.sparta.willbe.security.jwt;
 
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,9 +25,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 토큰이 발급되어 있는 경우 유효한 토큰인지 확인합니다.
         if (accessToken != null) {
             accessToken = accessToken.replace("BEARER ","");
-            if (jwtTokenProvider.validateToken(accessToken)) {
+            // 검증 결과는 request 에 남아서 JwtTokenInterceptor 가 다시 쓴다
+            Claims claims = jwtTokenProvider.getClaims(request, accessToken);
+            if (claims != null) {
                 //토큰을 SecurityContextHoder 의 Authentication에 저장
-                Authentication authentication = jwtTokenProvider.getAuthentication(accessToken);
+                Authentication authentication = jwtTokenProvider.getAuthentication(claims);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }else{
                 //토큰 유효기간 만료
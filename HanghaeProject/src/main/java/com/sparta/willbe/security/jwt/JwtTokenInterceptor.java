@@ -2,6 +2,7 @@ package com.sparta.willbe.security.jwt;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
@@ -17,23 +18,20 @@ public class JwtTokenInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object Handler) throws IOException{
-        System.out.println("JwtToken 호출");
         String accessToken = request.getHeader("Authorization");
         try {
-            log.info("ACCESS TOKEN: {}",accessToken);
             accessToken = accessToken.replace("BEARER ", "");
         }catch (NullPointerException e){
-            log.info("ACCESS TOKEN: {} >>NULL_POINT_EXCEPTION",accessToken);
+            log.debug("ACCESS TOKEN: NONE");
             return true;
         }
         if(accessToken.equals("undefined")){
             return true;
         }
-        if (accessToken != null && !jwtTokenProvider.validateToken(accessToken)) {
+        // JwtAuthenticationFilter 에서 검증한 결과를 다시 쓴다
+        if (jwtTokenProvider.getClaims(request, accessToken) == null) {
 
-            log.info("ACCESS TOKEN: {} >>FALSE STATEMENT ",accessToken);
-            log.info("NOT VALIDATION TOKEN : {}",!jwtTokenProvider.validateToken(accessToken));
-            log.info("ACCESSTOKNE iS NULL : {}", accessToken != null);
+            log.debug("ACCESS TOKEN: {} >>FALSE STATEMENT ", fingerprint(accessToken));
             response.setStatus(401);
             response.setHeader("Authorization", accessToken);
             response.setHeader("msg", "Token is not valid. Server block the request");
@@ -42,4 +40,9 @@ public class JwtTokenInterceptor implements HandlerInterceptor {
 
         return true;
     }
+
+    // 토큰 원문은 로그에 남기지 않는다. 같은 토큰인지만 알 수 있게 해시 앞자리만
+    private static String fingerprint(String token) {
+        return "sha256:" + DigestUtils.sha256Hex(token).substring(0, 8);
+    }
 }
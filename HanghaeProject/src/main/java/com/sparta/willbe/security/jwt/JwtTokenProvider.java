@@ -1,31 +1,43 @@
 package com.sparta.willbe.security.jwt;
 
+import com.sparta.willbe.security.PrincipalCache;
 import com.sparta.willbe.user.repository.UserRepository;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.PostConstruct;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import javax.servlet.http.HttpServletRequest;
-import java.util.Base64;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
-@RequiredArgsConstructor
 @Component
 @Service
 public class JwtTokenProvider {
 
-    private static String SECRET_KEY = "4dW2Ri6fZjsSjgldfYe8soispI6QoqCnvi8oewMS2rvbeW5Swo";
+    private static final String DEFAULT_SECRET = "4dW2Ri6fZjsSjgldfYe8soispI6QoqCnvi8oewMS2rvbeW5Swo";
 
     private static final long SEC = 1000L;
     private static final long MINUTE = 60 * SEC;
@@ -34,13 +46,68 @@ public class JwtTokenProvider {
 
     private final long ACCESS_TOKEN_VALID_TIME = HOUR;   // 1 시간
 
-    private final UserDetailsService userDetailsService;
+    // 한 요청에서 검증한 결과 (필터에서 넣고 인터셉터가 다시 쓴다)
+    public static final String CLAIMS_ATTRIBUTE = JwtTokenProvider.class.getName() + ".CLAIMS";
+    private static final Object INVALID = new Object();
+
+    // 서명 키 (kid -> key). 새 토큰은 currentKeyId 로 서명하고 헤더에 kid 를 넣는다.
+    // 키를 바꿀 때는 이전 키를 jwt.previous-keys 에 남겨두면 이미 발급된 토큰이 만료될 때까지 검증된다.
+    // kid 가 없는 토큰(이전에 발급된 것)은 현재 키로 검증한다.
+    private final Map<String, SecretKey> keys;
+    private final String currentKeyId;
+    private final SecretKey currentKey;
+    // JwtParser 는 불변이라 하나를 계속 쓴다
+    private final JwtParser jwtParser;
+
+    // 최근에 검증한 토큰 sha-256 -> claims (토큰 만료까지)
+    private final int verifiedCacheMaxSize;
+    private final ConcurrentHashMap<String, Verified> verified = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private final PrincipalCache principalCache;
     private final UserRepository userRepository;
 
-    // 객체 초기화, secretKey를 Base64로 인코딩한다.
-    @PostConstruct
-    protected void init() {
-        SECRET_KEY = Base64.getEncoder().encodeToString(SECRET_KEY.getBytes());
+    public JwtTokenProvider(PrincipalCache principalCache,
+                            UserRepository userRepository,
+                            @Value("${jwt.secret:" + DEFAULT_SECRET + "}") String secret,
+                            @Value("${jwt.key-id:default}") String keyId,
+                            @Value("${jwt.previous-keys:}") String previousKeys,
+                            @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheMaxSize) {
+        this.principalCache = principalCache;
+        this.userRepository = userRepository;
+        this.verifiedCacheMaxSize = verifiedCacheMaxSize;
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        // kid1:secret1,kid2:secret2
+        for (String entry : previousKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                keys.put(entry.substring(0, separator).trim(), toKey(entry.substring(separator + 1).trim()));
+            }
+        }
+        this.currentKeyId = keyId;
+        this.currentKey = toKey(secret);
+        keys.put(keyId, currentKey);
+        this.keys = Collections.unmodifiableMap(keys);
+
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String kid = header.getKeyId();
+                        SecretKey key = JwtTokenProvider.this.keys.get(kid == null ? currentKeyId : kid);
+                        if (key == null) {
+                            throw new UnsupportedJwtException("unknown key id: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    // 예전 setSigningKey(Base64(secret)) 와 같은 키 (Base64 를 풀면 secret 바이트)
+    private static SecretKey toKey(String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), SignatureAlgorithm.HS256.getJcaName());
     }
 
     // JWT 토큰 생성
@@ -49,29 +116,96 @@ public class JwtTokenProvider {
     }
 
     public String createToken(String userPk, long tokenValid) {
-        Claims claims = Jwts.claims().setSubject(userPk); // JWT payload 에 저장되는 정보단위
-        // 정보는 key / value 쌍으로 저장된다.
-        Date now = new Date();
+        // 정보는 key / value 쌍으로 저장된다. (subject 만 쓰므로 Claims 를 따로 만들지 않는다)
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(claims) // 정보 저장
-                .setIssuedAt(now) // 토큰 발행 시간 정보
-                .setExpiration(new Date(now.getTime() + tokenValid)) // set Expire Time
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)  // 사용할 암호화 알고리즘과
+                .setHeaderParam(JwsHeader.KEY_ID, currentKeyId)
+                .setSubject(userPk) // 정보 저장
+                .setIssuedAt(new Date(now)) // 토큰 발행 시간 정보
+                .setExpiration(new Date(now + tokenValid)) // set Expire Time
+                .signWith(currentKey, SignatureAlgorithm.HS256)  // 사용할 암호화 알고리즘과
                 // signature 에 들어갈 secret값 세팅
                 .compact();
 
     }
 
     // JWT 토큰에서 인증 정보 조회
-    //loadUserByUsername : userrepository에서 username으로 사용자 조회하는 기능
-    public Authentication getAuthentication(String token) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(this.getUserPk(token));
+    //loadUserByUsername : userrepository에서 username으로 사용자 조회하는 기능 (PrincipalCache 가 ttl 동안 들고 있는다)
+    public Authentication getAuthentication(Claims claims) {
+        UserDetails userDetails = principalCache.get(claims.getSubject());
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
     // 토큰에서 회원 정보 추출
     public String getUserPk(String token) {
-        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody().getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    // 검증된 claims, 유효하지 않으면 null
+    // 요청당 한 번만 검증하고 (request attribute), 같은 토큰은 만료 전까지 서명 검증을 다시 하지 않는다
+    public Claims getClaims(HttpServletRequest request, String token) {
+        Object cached = request.getAttribute(CLAIMS_ATTRIBUTE);
+        if (cached != null) {
+            return cached == INVALID ? null : (Claims) cached;
+        }
+        Claims claims = getClaims(token);
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims == null ? INVALID : claims);
+        return claims;
+    }
+
+    public Claims getClaims(String token) {
+        long now = System.currentTimeMillis();
+        String key = DigestUtils.sha256Hex(token);
+        Verified cached = verified.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.claims;
+            }
+            verified.remove(key);
+        }
+
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        if (verified.size() >= verifiedCacheMaxSize) {
+            evictVerified(now);
+        }
+        verified.put(key, new Verified(claims, claims.getExpiration().getTime()));
+        return claims;
+    }
+
+    // 서명, 만료 검증 (만료된 토큰은 parseClaimsJws 에서 예외)
+    Claims parseClaims(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            return claims.getExpiration() != null && claims.getExpiration().after(new Date()) ? claims : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void evictVerified(long now) {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<Map.Entry<String, Verified>> it = verified.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue().expiresAt <= now) {
+                    it.remove();
+                }
+            }
+
+            int target = verifiedCacheMaxSize - Math.max(1, verifiedCacheMaxSize / 10);
+            it = verified.entrySet().iterator();
+            while (verified.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evictLock.unlock();
+        }
     }
 
     // Request의 Header에서 token 값을 가져옵니다. "Autheorization" : "TOKEN값'
@@ -80,21 +214,18 @@ public class JwtTokenProvider {
         //request가 들어오는지 확인하는 sysout
 //        System.out.println("Authorization ::: "+request.getHeader("Authorization"));
         //Header에 토큰이 존재 하면 가져오고 아니면 null 반환
-        if (request.getHeader("Authorization") != null){
-            System.out.println("Authorization ::: "+request.getHeader("Authorization"));
-            return request.getHeader("Authorization");
-        }
-        return null;
+        return request.getHeader("Authorization");
     }
 
 
-    public static boolean validateToken(String jwtToken) {
-        try {
-            Jws<Claims> claims = Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(jwtToken);
-            return !claims.getBody().getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+    @AllArgsConstructor
+    private static class Verified {
+        private final Claims claims;
+        private final long expiresAt;
+    }
+
+    public boolean validateToken(String jwtToken) {
+        return parseClaims(jwtToken) != null;
     }
 
 }
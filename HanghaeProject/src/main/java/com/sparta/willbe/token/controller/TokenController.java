@@ -0,0 +1,33 @@
+package com.sparta.willbe.token.controller;
+
+import com.sparta.willbe.advice.Success;
+import com.sparta.willbe.security.jwt.TokenResponseDto;
+import com.sparta.willbe.token.dto.TokenRefreshRequestDto;
+import com.sparta.willbe.token.service.RefreshTokenService;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+public class TokenController {
+    private final RefreshTokenService refreshTokenService;
+
+    // 만료된 access 토큰이 붙어 와도 되도록 JwtTokenInterceptor 에서 제외되어 있다
+    @PostMapping("/token/refresh")
+    @ApiOperation(value = "access 토큰 재발급 (refresh 토큰도 새로 발급)")
+    public ResponseEntity<Success> refreshToken(@RequestBody TokenRefreshRequestDto requestDto, HttpServletResponse response) {
+        TokenResponseDto token = refreshTokenService.refresh(requestDto.getRefreshToken());
+        response.setHeader("Authorization", token.getAuthorization());
+        response.setHeader("Refresh-Token", token.getRefreshToken());
+        return new ResponseEntity<>(new Success(true, "토큰 재발급 성공"), HttpStatus.OK);
+    }
+}
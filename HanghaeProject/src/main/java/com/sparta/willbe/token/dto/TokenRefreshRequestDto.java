@@ -0,0 +1,10 @@
+package com.sparta.willbe.token.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class TokenRefreshRequestDto {
+    private String refreshToken;
+}
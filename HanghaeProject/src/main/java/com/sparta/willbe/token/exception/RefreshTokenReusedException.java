@@ -0,0 +1,10 @@
+package com.sparta.willbe.token.exception;
+
+import com.sparta.willbe._global.exception.BusinessException;
+import com.sparta.willbe._global.exception.ExceptionCode;
+
+public class RefreshTokenReusedException extends BusinessException {
+    public RefreshTokenReusedException() {
+        super(ExceptionCode.REFRESH_TOKEN_REUSED);
+    }
+}
@@ -0,0 +1,72 @@
+package com.sparta.willbe.token.model;
+
+import com.sparta.willbe._global.timestamped.model.Timestamped;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// 로그인 한 번에서 이어지는 refresh 토큰들은 같은 family 를 가진다.
+// 토큰 원문은 저장하지 않고 sha-256 만 저장한다.
+// 한 번 쓴 토큰(usedAt)이 reuse-grace-ms 가 지나서 다시 오면 탈취로 보고 family 전체를 revoke 한다.
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_expires", columnList = "expires_at")
+})
+public class RefreshToken extends Timestamped {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = true)
+    private LocalDateTime usedAt;
+
+    @Column(nullable = true)
+    private LocalDateTime revokedAt;
+
+    public RefreshToken(String tokenHash, String familyId, Long userId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public boolean isUsed() {
+        return usedAt != null;
+    }
+
+    public boolean isUsedWithin(LocalDateTime now, long millis) {
+        return usedAt != null && usedAt.plus(millis, ChronoUnit.MILLIS).isAfter(now);
+    }
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+
+    public void use(LocalDateTime now) {
+        this.usedAt = now;
+    }
+}
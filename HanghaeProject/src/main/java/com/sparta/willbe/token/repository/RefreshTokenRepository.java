@@ -0,0 +1,35 @@
+package com.sparta.willbe.token.repository;
+
+import com.sparta.willbe.token.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // 같은 토큰으로 동시에 갱신하면 차례로 처리된다 (늦은 쪽은 먼저 쓴 usedAt 을 본다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RefreshToken r where r.tokenHash = ?1")
+    Optional<RefreshToken> findByTokenHashForUpdate(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revokedAt = ?2 where r.familyId = ?1 and r.revokedAt is null")
+    int revokeFamily(String familyId, LocalDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revokedAt = ?2 where r.userId = ?1 and r.revokedAt is null")
+    int revokeAllByUserId(Long userId, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < ?1")
+    int deleteExpired(LocalDateTime before);
+}
@@ -0,0 +1,132 @@
+package com.sparta.willbe.token.service;
+
+import com.sparta.willbe.security.jwt.JwtTokenProvider;
+import com.sparta.willbe.security.jwt.TokenResponseDto;
+import com.sparta.willbe.token.exception.RefreshTokenInvalidException;
+import com.sparta.willbe.token.exception.RefreshTokenReusedException;
+import com.sparta.willbe.token.model.RefreshToken;
+import com.sparta.willbe.token.repository.RefreshTokenRepository;
+import com.sparta.willbe.user.model.User;
+import com.sparta.willbe.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+// access 토큰이 만료되면 /signin (bcrypt) 대신 refresh 토큰으로 재발급한다.
+// refresh 토큰은 쓸 때마다 새 것으로 바뀌고(rotation), 이미 쓴 토큰이 다시 오면 family 전체를 끊는다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Value("${token.refresh.valid-ms:1209600000}")
+    private long validMillis;   // 14일
+
+    // 탭 두 개가 동시에 갱신하면 늦게 온 쪽은 방금 쓴 토큰을 보낸다.
+    // 쓴 지 이 시간 안이면 재사용으로 보지 않고 같은 family 로 한 번 더 발급한다.
+    @Value("${token.refresh.reuse-grace-ms:10000}")
+    private long reuseGraceMillis;
+
+    // 로그인 할 때 새 family 로 발급
+    @Transactional
+    public String issue(Long userId) {
+        return create(UUID.randomUUID().toString(), userId, LocalDateTime.now());
+    }
+
+    // 실패해도 family revoke 는 남아야 하므로 롤백하지 않는다
+    @Transactional(noRollbackFor = {RefreshTokenInvalidException.class, RefreshTokenReusedException.class})
+    public TokenResponseDto refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            throw new RefreshTokenInvalidException();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .orElseThrow(RefreshTokenInvalidException::new);
+
+        if (token.isRevoked() || token.isExpired(now)) {
+            throw new RefreshTokenInvalidException();
+        }
+        if (token.isUsed() && !token.isUsedWithin(now, reuseGraceMillis)) {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            log.warn("REFRESH TOKEN >> 재사용 감지 >> userId: {} family: {} revoked: {}", token.getUserId(), token.getFamilyId(), revoked);
+            throw new RefreshTokenReusedException();
+        }
+
+        User user = userRepository.findById(token.getUserId())
+                .filter(found -> !found.getIsDeleted() && found.getIsValid())
+                .orElse(null);
+        if (user == null) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            throw new RefreshTokenInvalidException();
+        }
+
+        if (token.isUsed()) {
+            log.info("REFRESH TOKEN >> 동시 갱신 (grace) >> userId: {} family: {}", token.getUserId(), token.getFamilyId());
+        } else {
+            token.use(now);
+        }
+        String next = create(token.getFamilyId(), user.getId(), now);
+        return TokenResponseDto.builder()
+                .Authorization("BEARER " + jwtTokenProvider.createAccessToken(user.getEmail()))
+                .refreshToken(next)
+                .build();
+    }
+
+    // 로그아웃: 이 토큰이 속한 family (같은 로그인에서 이어진 토큰) 를 끊는다. 다른 기기는 그대로
+    @Transactional
+    public void revokeFamily(String refreshToken, Long userId) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .filter(token -> token.getUserId().equals(userId))
+                .ifPresent(token -> {
+                    int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+                    log.info("REFRESH TOKEN >> 로그아웃 revoke >> userId: {} family: {} revoked: {}", userId, token.getFamilyId(), revoked);
+                });
+    }
+
+    // 탈퇴 등 (다른 기기 포함 전부)
+    @Transactional
+    public void revokeAll(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+        log.info("REFRESH TOKEN >> 전체 revoke >> userId: {} revoked: {}", userId, revoked);
+    }
+
+    // 만료된 토큰 정리 (쓴 토큰은 만료될 때까지 남겨서 재사용 감지에 쓴다)
+    @Scheduled(cron = "${token.refresh.cleanup-cron:0 30 4 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("REFRESH TOKEN >> 만료 토큰 정리 >> deleted: {}", deleted);
+    }
+
+    private String create(String familyId, Long userId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(token), familyId, userId, now.plus(validMillis, ChronoUnit.MILLIS)));
+        return token;
+    }
+
+    private static String hash(String token) {
+        return DigestUtils.sha256Hex(token);
+    }
+}
@@ -0,0 +1,33 @@
+package com.sparta.willbe.transcode.controller;
+
+import com.sparta.willbe.transcode.dto.TranscodeJobResponseDto;
+import com.sparta.willbe.transcode.service.TranscodeJobService;
+import com.sparta.willbe.user.exception.UserUnauthorizedException;
+import com.sparta.willbe.user.model.User;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+public class TranscodeController {
+    private final TranscodeJobService transcodeJobService;
+
+    @GetMapping("/api/interviews/{interviewId}/transcode")
+    @ApiOperation(value = "인터뷰 영상 변환 상태 조회")
+    @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
+    public ResponseEntity<TranscodeJobResponseDto> readTranscodeStatus(@PathVariable Long interviewId, @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new UserUnauthorizedException();
+        }
+        return new ResponseEntity<>(transcodeJobService.getJobStatus(interviewId, user), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sparta.willbe.transcode.dto;
+
+import com.sparta.willbe.transcode.model.TranscodeJob;
+import lombok.Getter;
+
+import java.time.format.DateTimeFormatter;
+
+@Getter
+public class TranscodeJobResponseDto {
+    private Long id;
+    private Long interviewId;
+    private String status;
+    private int attempts;
+    private String nextAttemptAt;
+    private String lastError;
+    // 이 서버에서 ffmpeg 가 돌고 있을 때만 (프레임, 속도)
+    private TranscodeProgressDto progress;
+    private String createdAt;
+    private String updatedAt;
+
+    public TranscodeJobResponseDto(TranscodeJob job, TranscodeProgressDto progress) {
+        this(job);
+        this.progress = progress;
+    }
+
+    public TranscodeJobResponseDto(TranscodeJob job) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        this.id = job.getId();
+        this.interviewId = job.getInterviewId();
+        this.status = job.getStatus().name();
+        this.attempts = job.getAttempts();
+        this.nextAttemptAt = job.getNextAttemptAt().format(formatter);
+        this.lastError = job.getLastError();
+        this.createdAt = job.getCreatedAt() == null ? null : job.getCreatedAt().format(formatter);
+        this.updatedAt = job.getModifiedAt() == null ? null : job.getModifiedAt().format(formatter);
+    }
+}
@@ -0,0 +1,15 @@
+package com.sparta.willbe.transcode.dto;
+
+import com.sparta.willbe.interview.model.MediaInfo;
+import com.sparta.willbe.interview.model.SpriteSheet;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//  변환 결과 중 인터뷰에 반영할 것 (각각 만들지 못했으면 null/false)
+@Getter
+@AllArgsConstructor
+public class TranscodeOutput {
+    private MediaInfo mediaInfo;
+    private SpriteSheet spriteSheet;
+    private String posterKey;
+}
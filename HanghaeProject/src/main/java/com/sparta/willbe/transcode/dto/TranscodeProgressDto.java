@@ -0,0 +1,24 @@
+package com.sparta.willbe.transcode.dto;
+
+import lombok.Getter;
+import net.bramp.ffmpeg.progress.Progress;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Getter
+public class TranscodeProgressDto {
+    private long frame;
+    private double fps;
+    private float speed;
+    private long outTimeMillis;
+    private String updatedAt;
+
+    public TranscodeProgressDto(Progress progress) {
+        this.frame = progress.frame;
+        this.fps = progress.fps == null ? 0 : progress.fps.doubleValue();
+        this.speed = progress.speed;
+        this.outTimeMillis = progress.out_time_ns / 1_000_000;
+        this.updatedAt = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+}
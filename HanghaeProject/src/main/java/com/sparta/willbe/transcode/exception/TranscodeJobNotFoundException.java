@@ -0,0 +1,10 @@
+package com.sparta.willbe.transcode.exception;
+
+import com.sparta.willbe._global.exception.BusinessException;
+import com.sparta.willbe._global.exception.ExceptionCode;
+
+public class TranscodeJobNotFoundException extends BusinessException {
+    public TranscodeJobNotFoundException() {
+        super(ExceptionCode.TRANSCODE_JOB_NOT_FOUND);
+    }
+}
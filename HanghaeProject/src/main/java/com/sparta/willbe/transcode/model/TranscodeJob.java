@@ -0,0 +1,112 @@
+package com.sparta.willbe.transcode.model;
+
+import com.sparta.willbe._global.timestamped.model.Timestamped;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_transcode_job_poll", columnList = "status, next_attempt_at"))
+public class TranscodeJob extends Timestamped {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long interviewId;
+
+    @Column(nullable = false)
+    private String sourceKey;
+
+    @Column(nullable = false)
+    private String targetKey;
+
+    // 같은 변환에서 뽑은 포스터를 올릴 key (PreviewImageService.getPosterKey, 썸네일 key 와 다르다)
+    @Column(nullable = true)
+    private String posterKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TranscodeStatus status;
+
+    @Column(nullable = false)
+    private int priority;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = true)
+    private String leaseOwner;
+
+    @Column(nullable = true)
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(nullable = true, length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public TranscodeJob(Long interviewId, String sourceKey, String targetKey, String posterKey) {
+        this.interviewId = interviewId;
+        this.sourceKey = sourceKey;
+        this.targetKey = targetKey;
+        this.posterKey = posterKey;
+        this.status = TranscodeStatus.QUEUED;
+        this.priority = 0;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    //  stage 진행 + lease 연장
+    public void advance(TranscodeStatus status, LocalDateTime leaseExpiresAt) {
+        this.status = status;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public void done() {
+        this.status = TranscodeStatus.DONE;
+        this.lastError = null;
+        releaseLease();
+    }
+
+    //  실패한 stage 는 그대로 두고 nextAttemptAt 이후 다시 시도, 횟수 초과시 FAILED
+    public void failAttempt(String error, int maxAttempts, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (this.attempts >= maxAttempts) {
+            this.status = TranscodeStatus.FAILED;
+        } else {
+            this.nextAttemptAt = nextAttemptAt;
+        }
+        releaseLease();
+    }
+
+    //  처음부터 다시 (관리자 재시도, 같은 인터뷰 재등록)
+    public void requeue(String sourceKey, String targetKey, String posterKey) {
+        this.sourceKey = sourceKey;
+        this.targetKey = targetKey;
+        this.posterKey = posterKey;
+        this.status = TranscodeStatus.QUEUED;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+        this.lastError = null;
+        releaseLease();
+    }
+
+    public boolean isLeasedBy(String workerId) {
+        return workerId.equals(this.leaseOwner);
+    }
+
+    private void releaseLease() {
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+    }
+}
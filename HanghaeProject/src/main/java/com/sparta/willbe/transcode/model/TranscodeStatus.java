@@ -0,0 +1,17 @@
+package com.sparta.willbe.transcode.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+public enum TranscodeStatus {
+    QUEUED,
+    DOWNLOADING,
+    TRANSCODING,
+    UPLOADING,
+    PACKAGING,
+    DONE,
+    FAILED;
+
+    // 워커가 가져갈 수 있는 상태 (진행중 상태는 lease 가 만료된 경우 = 중단된 작업 재개)
+    public static final List<TranscodeStatus> ACTIVE = Arrays.asList(QUEUED, DOWNLOADING, TRANSCODING, UPLOADING, PACKAGING);
+}
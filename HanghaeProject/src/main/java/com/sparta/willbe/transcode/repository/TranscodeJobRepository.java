@@ -0,0 +1,40 @@
+package com.sparta.willbe.transcode.repository;
+
+import com.sparta.willbe.transcode.model.TranscodeJob;
+import com.sparta.willbe.transcode.model.TranscodeStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TranscodeJobRepository extends JpaRepository<TranscodeJob, Long> {
+    Optional<TranscodeJob> findByInterviewId(Long interviewId);
+
+    Page<TranscodeJob> findAllByStatus(TranscodeStatus status, Pageable pageable);
+
+    //가져갈 수 있는 작업 (재시도 시간 도래 + lease 없음/만료)
+    @Query("select j.id from TranscodeJob j where j.status in ?1 and j.nextAttemptAt <= ?2 " +
+            "and (j.leaseExpiresAt is null or j.leaseExpiresAt < ?2) order by j.priority desc, j.id asc")
+    List<Long> findClaimableIds(Collection<TranscodeStatus> statuses, LocalDateTime now, Pageable pageable);
+
+    //lease 획득, 다른 노드가 먼저 가져갔으면 0
+    @Modifying(clearAutomatically = true)
+    @Query("update TranscodeJob j set j.leaseOwner = ?2, j.leaseExpiresAt = ?3 where j.id = ?1 and j.status in ?5 " +
+            "and (j.leaseExpiresAt is null or j.leaseExpiresAt < ?4)")
+    int acquireLease(Long jobId, String workerId, LocalDateTime leaseExpiresAt, LocalDateTime now, Collection<TranscodeStatus> statuses);
+
+    @Modifying
+    @Query("update TranscodeJob j set j.leaseExpiresAt = ?3 where j.id in ?1 and j.leaseOwner = ?2")
+    int renewLeases(Collection<Long> jobIds, String workerId, LocalDateTime leaseExpiresAt);
+
+    @Query("select j.status, count(j) from TranscodeJob j group by j.status")
+    List<Object[]> countGroupByStatus();
+}
@@ -0,0 +1,209 @@
+package com.sparta.willbe.transcode.service;
+
+import com.sparta.willbe.transcode.dto.TranscodeProgressDto;
+import lombok.extern.slf4j.Slf4j;
+import net.bramp.ffmpeg.FFmpeg;
+import net.bramp.ffmpeg.FFmpegExecutor;
+import net.bramp.ffmpeg.FFprobe;
+import net.bramp.ffmpeg.builder.FFmpegBuilder;
+import net.bramp.ffmpeg.builder.FFmpegOutputBuilder;
+import net.bramp.ffmpeg.probe.FFmpegProbeResult;
+import net.bramp.ffmpeg.progress.ProgressListener;
+import net.bramp.ffmpeg.progress.TcpProgressParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ffmpeg/ffprobe 실행을 한 곳에서 관리한다.
+ * - FFmpeg/FFprobe 래퍼는 한 번만 만든다 (생성할 때마다 -version 으로 바이너리를 확인하므로)
+ * - 모든 프로세스는 nice 로 띄워서 같은 서버의 Tomcat 요청 스레드보다 CPU 를 덜 받게 하고, 인코딩 스레드 수를 제한한다
+ * - 제한 시간이 지나면 프로세스를 강제로 종료한다 (작업은 실패 -> 큐에서 재시도)
+ * - 진행 상황(프레임, 속도)은 인터뷰 ID 별로 이 노드의 메모리에만 보관한다
+ */
+@Slf4j
+@Component
+public class FFmpegRunner {
+
+    @Value("${ffmpeg.path:/usr/bin/ffmpeg}")
+    private String ffmpegPath;
+
+    @Value("${ffmpeg.ffprobe-path:/usr/bin/ffprobe}")
+    private String ffprobePath;
+
+    @Value("${ffmpeg.threads:2}")
+    private int threads;
+
+    @Value("${ffmpeg.preset:veryfast}")
+    private String preset;
+
+    @Value("${ffmpeg.timeout-minutes:20}")
+    private long timeoutMinutes;
+
+    // 0 이면 nice 없이 실행
+    @Value("${ffmpeg.nice:10}")
+    private int nice;
+
+    private volatile FFmpeg fFmpeg;
+    private volatile FFprobe fFprobe;
+    private final Map<Long, TranscodeProgressDto> progresses = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ffmpeg-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        try {
+            initBinaries();
+            log.info("FFMPEG READY ({}, THREADS {}, PRESET {}, NICE {}, TIMEOUT {}m)", ffmpegPath, threads, preset, nice, timeoutMinutes);
+        } catch (IOException e) {
+            // 바이너리가 없는 로컬 환경에서도 서버는 떠야 한다. 처음 쓸 때 다시 시도
+            log.error("FFMPEG INIT FAIL - {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    //  출력 옵션에 인코딩 preset/스레드 제한을 건다
+    public FFmpegOutputBuilder tune(FFmpegOutputBuilder output) {
+        return output.setPreset(preset)
+                .addExtraArgs("-threads", String.valueOf(threads));
+    }
+
+    public void run(FFmpegBuilder builder, Long interviewId) throws IOException {
+        initBinaries();
+        try {
+            new FFmpegExecutor(fFmpeg, fFprobe)
+                    .createJob(builder, progressListener(interviewId))
+                    .run();
+        } finally {
+            progresses.remove(interviewId);
+        }
+    }
+
+    public FFmpegProbeResult probe(String input) throws IOException {
+        initBinaries();
+        return fFprobe.probe(input);
+    }
+
+    /**
+     * stdin/stdout 을 직접 다뤄야 하는 경우(스트리밍 변환)에 쓴다.
+     * stderr 는 따로 읽어야 하고, 끝나면 반드시 finish 를 호출해야 한다.
+     */
+    public RunningProcess start(List<String> args, Long interviewId) throws IOException {
+        TcpProgressParser progressParser = createProgressParser(interviewId);
+        progressParser.start();
+
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegPath);
+        command.add("-progress");
+        command.add(progressParser.getUri().toString());
+        command.addAll(args);
+        try {
+            return new RunningProcess(startProcess(command, false), progressParser, interviewId);
+        } catch (IOException e) {
+            progressParser.stop();
+            throw e;
+        }
+    }
+
+    public TranscodeProgressDto getProgress(Long interviewId) {
+        return progresses.get(interviewId);
+    }
+
+    private TcpProgressParser createProgressParser(Long interviewId) throws IOException {
+        try {
+            return new TcpProgressParser(progressListener(interviewId));
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("FFMPEG PROGRESS PARSER CREATE FAIL", e);
+        }
+    }
+
+    private ProgressListener progressListener(Long interviewId) {
+        return progress -> progresses.put(interviewId, new TranscodeProgressDto(progress));
+    }
+
+    private void initBinaries() throws IOException {
+        if (fFmpeg != null && fFprobe != null) {
+            return;
+        }
+        synchronized (this) {
+            if (fFmpeg == null) {
+                fFmpeg = new FFmpeg(ffmpegPath, args -> startProcess(args, true));
+            }
+            if (fFprobe == null) {
+                fFprobe = new FFprobe(ffprobePath, args -> startProcess(args, true));
+            }
+        }
+    }
+
+    private Process startProcess(List<String> args, boolean redirectErrorStream) throws IOException {
+        List<String> command = new ArrayList<>();
+        if (nice > 0) {
+            command.add("nice");
+            command.add("-n");
+            command.add(String.valueOf(nice));
+        }
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(redirectErrorStream)
+                .start();
+        watchdog.schedule(() -> {
+            if (process.isAlive()) {
+                log.error("FFMPEG TIMEOUT ({}m), KILLED: {}", timeoutMinutes, args.get(0));
+                process.destroyForcibly();
+            }
+        }, timeoutMinutes, TimeUnit.MINUTES);
+        return process;
+    }
+
+    public class RunningProcess {
+        private final Process process;
+        private final TcpProgressParser progressParser;
+        private final Long interviewId;
+        private final long startedAt = System.nanoTime();
+
+        private RunningProcess(Process process, TcpProgressParser progressParser, Long interviewId) {
+            this.process = process;
+            this.progressParser = progressParser;
+            this.interviewId = interviewId;
+        }
+
+        public Process getProcess() {
+            return process;
+        }
+
+        //  제한 시간에 걸려 종료된 것인지 (입력 문제로 실패한 것과 구분)
+        public boolean isTimedOut() {
+            return System.nanoTime() - startedAt >= TimeUnit.MINUTES.toNanos(timeoutMinutes);
+        }
+
+        public void finish() {
+            process.destroyForcibly();
+            progresses.remove(interviewId);
+            try {
+                progressParser.stop();
+            } catch (IOException e) {
+                log.error("FFMPEG PROGRESS PARSER STOP FAIL - {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.sparta.willbe.transcode.service;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.sparta.willbe.s3.PresignedUrlCache;
+import com.sparta.willbe.s3.S3PrefixCleaner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.bramp.ffmpeg.builder.FFmpegBuilder;
+import net.bramp.ffmpeg.probe.FFmpegProbeResult;
+import net.bramp.ffmpeg.probe.FFmpegStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 변환된 mp4 를 HLS 로 패키징해서 hls/{interviewId}/ 아래에 올린다.
+ * 원본 높이를 넘지 않는 rendition 만 만들고, master.m3u8 은 마지막에 올려서 master 가 보이면 전부 올라간 상태가 되도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HlsPackager {
+    private static final String MASTER_PLAYLIST = "master.m3u8";
+    private static final long AUDIO_BIT_RATE = 96_000;
+    private static final List<Rendition> LADDER = Arrays.asList(
+            new Rendition(360, 800_000),
+            new Rendition(720, 2_500_000));
+
+    private final AmazonS3Client amazonFullS3Client;
+    private final PresignedUrlCache presignedUrlCache;
+    private final FFmpegRunner fFmpegRunner;
+    private final S3PrefixCleaner s3PrefixCleaner;
+
+    @Value("${cloud.aws.s3.bucket}")
+    public String bucket;
+
+    @Value("${transcode.hls.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transcode.hls.segment-seconds:6}")
+    private int segmentSeconds;
+
+    @Value("${transcode.work-dir:${java.io.tmpdir}/willbe-transcode}")
+    private String workDirPath;
+
+    public static String getPrefix(Long interviewId) {
+        return "hls/" + interviewId + "/";
+    }
+
+    public static String getMasterPlaylistKey(Long interviewId) {
+        return getPrefix(interviewId) + MASTER_PLAYLIST;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void packageHls(Long interviewId, String mp4Key) throws IOException {
+        // ffmpeg 가 S3 에서 바로 읽는다
+        String input = presignedUrlCache.getUrl(mp4Key);
+        Path outputDir = Paths.get(workDirPath).resolve("hls-" + interviewId);
+        deleteRecursively(outputDir);
+        Files.createDirectories(outputDir);
+
+        try {
+            FFmpegStream video = findVideoStream(fFmpegRunner.probe(input));
+            List<Rendition> renditions = LADDER.stream()
+                    .filter(rendition -> rendition.height <= video.height)
+                    .collect(Collectors.toList());
+            if (renditions.isEmpty()) {
+                renditions.add(LADDER.get(0));
+            }
+
+            StringBuilder master = new StringBuilder("#EXTM3U\n#EXT-X-VERSION:3\n");
+            for (Rendition rendition : renditions) {
+                String name = rendition.height + "p";
+                FFmpegBuilder builder = fFmpegRunner.tune(new FFmpegBuilder()
+                                .overrideOutputFiles(true)
+                                .setInput(input)
+                                .addOutput(outputDir.resolve(name + ".m3u8").toString()))
+                        .setFormat("hls")
+                        .setVideoCodec("h264")
+                        .setVideoFrameRate(24, 1)
+                        .setVideoFilter("scale=-2:" + rendition.height)
+                        .setVideoBitRate(rendition.bitRate)
+                        .setAudioCodec("aac")
+                        .setAudioBitRate(AUDIO_BIT_RATE)
+                        .addExtraArgs("-map", "0:v:0", "-map", "0:a?",
+                                // segment 경계마다 keyframe 을 강제해서 segment 길이를 고르게
+                                "-force_key_frames", "expr:gte(t,n_forced*" + segmentSeconds + ")",
+                                "-hls_time", String.valueOf(segmentSeconds),
+                                "-hls_playlist_type", "vod",
+                                "-hls_segment_filename", outputDir.resolve(name + "_%03d.ts").toString())
+                        .done();
+
+                log.info("EXEC HLS FFMPEG (INTERVIEW " + interviewId + ") " + name);
+                fFmpegRunner.run(builder, interviewId);
+
+                int width = (int) Math.round((double) video.width * rendition.height / video.height / 2) * 2;
+                master.append("#EXT-X-STREAM-INF:BANDWIDTH=").append(rendition.bitRate + AUDIO_BIT_RATE)
+                        .append(",RESOLUTION=").append(width).append('x').append(rendition.height).append('\n')
+                        .append(name).append(".m3u8\n");
+            }
+            Files.write(outputDir.resolve(MASTER_PLAYLIST), master.toString().getBytes(StandardCharsets.UTF_8));
+
+            upload(interviewId, outputDir);
+            log.info("INTERVIEW " + interviewId + " HLS PACKAGED (" + renditions.size() + " RENDITIONS)");
+        } finally {
+            deleteRecursively(outputDir);
+        }
+    }
+
+    public void deletePackage(Long interviewId) {
+        s3PrefixCleaner.deleteAll(getPrefix(interviewId));
+    }
+
+    private void upload(Long interviewId, Path outputDir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(outputDir)) {
+            files = list.filter(path -> !path.getFileName().toString().equals(MASTER_PLAYLIST))
+                    .collect(Collectors.toList());
+        }
+        files.add(outputDir.resolve(MASTER_PLAYLIST));
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentType(fileName.endsWith(".m3u8") ? "application/vnd.apple.mpegurl" : "video/mp2t");
+            amazonFullS3Client.putObject(new PutObjectRequest(bucket, getPrefix(interviewId) + fileName, file.toFile())
+                    .withMetadata(metadata));
+        }
+    }
+
+    private FFmpegStream findVideoStream(FFmpegProbeResult probeResult) throws IOException {
+        for (FFmpegStream stream : probeResult.getStreams()) {
+            if (stream.codec_type == FFmpegStream.CodecType.VIDEO) {
+                return stream;
+            }
+        }
+        throw new IOException("NO VIDEO STREAM");
+    }
+
+    private void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static class Rendition {
+        private final int height;
+        private final long bitRate;
+
+        private Rendition(int height, long bitRate) {
+            this.height = height;
+            this.bitRate = bitRate;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sparta.willbe.transcode.service;
+
+import com.sparta.willbe.interview.model.MediaInfo;
+import com.sparta.willbe.s3.PresignedUrlCache;
+import io.sentry.Sentry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.bramp.ffmpeg.probe.FFmpegFormat;
+import net.bramp.ffmpeg.probe.FFmpegProbeResult;
+import net.bramp.ffmpeg.probe.FFmpegStream;
+import org.springframework.stereotype.Component;
+
+/**
+ * 업로드된 mp4 를 S3 에서 바로 ffprobe 해서 MediaInfo 를 만든다.
+ * 메타데이터는 부가 정보라서 실패해도 변환 작업은 실패시키지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaProber {
+    private final PresignedUrlCache presignedUrlCache;
+    private final FFmpegRunner fFmpegRunner;
+
+    public MediaInfo probe(String objectKey) {
+        try {
+            FFmpegProbeResult result = fFmpegRunner.probe(presignedUrlCache.getUrl(objectKey));
+            FFmpegFormat format = result.getFormat();
+
+            FFmpegStream video = null;
+            boolean hasAudio = false;
+            for (FFmpegStream stream : result.getStreams()) {
+                if (stream.codec_type == FFmpegStream.CodecType.VIDEO && video == null) {
+                    video = stream;
+                } else if (stream.codec_type == FFmpegStream.CodecType.AUDIO) {
+                    hasAudio = true;
+                }
+            }
+
+            MediaInfo.MediaInfoBuilder builder = MediaInfo.builder()
+                    .durationMillis(Math.round(format.duration * 1000))
+                    .bitRate(format.bit_rate)
+                    .bytes(format.size)
+                    .hasAudio(hasAudio);
+            if (video != null) {
+                builder.width(video.width)
+                        .height(video.height)
+                        .videoCodec(video.codec_name)
+                        .frameRate(video.avg_frame_rate == null ? null : video.avg_frame_rate.doubleValue());
+            }
+            return builder.build();
+        } catch (Exception e) {
+            log.error("FFPROBE FAIL: " + objectKey + " - " + e.getMessage());
+            Sentry.captureException(e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.sparta.willbe.transcode.service;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.sparta.willbe.interview.model.MediaInfo;
+import com.sparta.willbe.interview.model.SpriteSheet;
+import com.sparta.willbe.likes.service.LikesService;
+import com.sparta.willbe.s3.PresignedUrlCache;
+import com.sparta.willbe.s3.S3PrefixCleaner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.bramp.ffmpeg.builder.FFmpegBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 변환하는 같은 ffmpeg 실행에서 포스터 1장과 탐색 미리보기 스프라이트를 뽑는다.
+ * 스프라이트는 좋아요 구간(LikesService.INTERVAL)마다 한 칸이라 i 번째 칸 = i 번째 좋아요 구간이다.
+ * 클라이언트가 올리는 썸네일은 오지 않을 수도 있지만 포스터는 영상과 함께 항상 만들어진다.
+ * 포스터는 썸네일과 다른 key (sprites/<id>/poster.png) 에 올리고, 썸네일이 없을 때만 대신 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PreviewImageService {
+    private static final int SPRITE_COLUMNS = 10;
+    private static final int SPRITE_ROWS = 10;
+    private static final int SPRITE_TILE_WIDTH = 160;
+    private static final int POSTER_SAMPLE_FRAMES = 48;
+    private static final String POSTER_FILE = "poster.png";
+    private static final String SPRITE_FILE_PREFIX = "sprite_";
+    private static final String SPRITE_FILE_SUFFIX = ".jpg";
+
+    private final AmazonS3Client amazonFullS3Client;
+    private final PresignedUrlCache presignedUrlCache;
+    private final S3PrefixCleaner s3PrefixCleaner;
+
+    @Value("${cloud.aws.s3.bucket}")
+    public String bucket;
+
+    public static String getSpritePrefix(Long interviewId) {
+        return "sprites/" + interviewId + "/";
+    }
+
+    public static String getPosterKey(Long interviewId) {
+        return getSpritePrefix(interviewId) + POSTER_FILE;
+    }
+
+    private static String getSpriteKey(Long interviewId, int sheet) {
+        return getSpritePrefix(interviewId) + SPRITE_FILE_PREFIX + sheet + SPRITE_FILE_SUFFIX;
+    }
+
+    //  mp4 출력에 포스터/스프라이트 출력을 덧붙인다 (입력을 한 번만 디코딩)
+    public FFmpegBuilder addOutputs(FFmpegBuilder builder, Path imageDir) {
+        return builder
+                .addOutput(imageDir.resolve(POSTER_FILE).toString())
+                .setFormat("image2")
+                .setFrames(1)
+                .setVideoFilter("thumbnail=" + POSTER_SAMPLE_FRAMES)
+                .disableAudio()
+                .done()
+                .addOutput(imageDir.resolve(SPRITE_FILE_PREFIX + "%d" + SPRITE_FILE_SUFFIX).toString())
+                .setFormat("image2")
+                .setVideoFilter("fps=1/" + LikesService.INTERVAL
+                        + ",scale=" + SPRITE_TILE_WIDTH + ":-2"
+                        + ",tile=" + SPRITE_COLUMNS + "x" + SPRITE_ROWS)
+                .disableAudio()
+                .addExtraArgs("-start_number", "0")
+                .done();
+    }
+
+    public void prepare(Path imageDir) throws IOException {
+        clear(imageDir);
+        Files.createDirectories(imageDir);
+    }
+
+    public boolean uploadPoster(String posterKey, Path imageDir) {
+        Path poster = imageDir.resolve(POSTER_FILE);
+        if (posterKey == null || !Files.exists(poster)) {
+            return false;
+        }
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType("image/png");
+        amazonFullS3Client.putObject(new PutObjectRequest(bucket, posterKey, poster.toFile()).withMetadata(metadata));
+        log.info("POSTER CREATED IN " + posterKey);
+        return true;
+    }
+
+    public SpriteSheet uploadSprites(Long interviewId, Path imageDir, MediaInfo mediaInfo) throws IOException {
+        if (!Files.exists(imageDir)) {
+            return null;
+        }
+        List<Path> sheets;
+        try (Stream<Path> list = Files.list(imageDir)) {
+            sheets = list.filter(path -> path.getFileName().toString().startsWith(SPRITE_FILE_PREFIX))
+                    .sorted(Comparator.comparingInt(PreviewImageService::getSheetNumber))
+                    .collect(Collectors.toList());
+        }
+        if (sheets.isEmpty()) {
+            return null;
+        }
+
+        int[] size = readImageSize(sheets.get(0));
+        int capacity = sheets.size() * SPRITE_COLUMNS * SPRITE_ROWS;
+        int tiles = capacity;
+        if (mediaInfo != null && mediaInfo.getDurationMillis() != null) {
+            long intervalMillis = LikesService.INTERVAL * 1000L;
+            tiles = (int) Math.min(capacity, (mediaInfo.getDurationMillis() + intervalMillis - 1) / intervalMillis);
+        }
+
+        for (int sheet = 0; sheet < sheets.size(); sheet++) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentType("image/jpeg");
+            amazonFullS3Client.putObject(new PutObjectRequest(bucket, getSpriteKey(interviewId, sheet), sheets.get(sheet).toFile())
+                    .withMetadata(metadata));
+        }
+
+        return SpriteSheet.builder()
+                .sheets(sheets.size())
+                .tiles(tiles)
+                .columns(SPRITE_COLUMNS)
+                .rows(SPRITE_ROWS)
+                .tileWidth(size[0] / SPRITE_COLUMNS)
+                .tileHeight(size[1] / SPRITE_ROWS)
+                .intervalSeconds(LikesService.INTERVAL)
+                .build();
+    }
+
+    //  WebVTT 썸네일 트랙 (이미지 URL 은 presigned URL 캐시에서)
+    public String buildVtt(Long interviewId, SpriteSheet spriteSheet) {
+        int perSheet = spriteSheet.getColumns() * spriteSheet.getRows();
+        StringBuilder vtt = new StringBuilder("WEBVTT\n");
+        String sheetUrl = null;
+        for (int tile = 0; tile < spriteSheet.getTiles(); tile++) {
+            int sheet = tile / perSheet;
+            int position = tile % perSheet;
+            if (position == 0 || sheetUrl == null) {
+                sheetUrl = presignedUrlCache.getUrl(getSpriteKey(interviewId, sheet));
+            }
+            int x = (position % spriteSheet.getColumns()) * spriteSheet.getTileWidth();
+            int y = (position / spriteSheet.getColumns()) * spriteSheet.getTileHeight();
+
+            vtt.append('\n')
+                    .append(formatTime(tile * spriteSheet.getIntervalSeconds()))
+                    .append(" --> ")
+                    .append(formatTime((tile + 1) * spriteSheet.getIntervalSeconds())).append('\n')
+                    .append(sheetUrl).append("#xywh=")
+                    .append(x).append(',').append(y).append(',')
+                    .append(spriteSheet.getTileWidth()).append(',').append(spriteSheet.getTileHeight()).append('\n');
+        }
+        return vtt.toString();
+    }
+
+    public void deleteSprites(Long interviewId) {
+        s3PrefixCleaner.deleteAll(getSpritePrefix(interviewId));
+    }
+
+    public void clear(Path imageDir) throws IOException {
+        if (!Files.exists(imageDir)) {
+            return;
+        }
+        try (Stream<Path> list = Files.list(imageDir)) {
+            for (Path path : list.collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(imageDir);
+    }
+
+    private static int getSheetNumber(Path path) {
+        String fileName = path.getFileName().toString();
+        return Integer.parseInt(fileName.substring(SPRITE_FILE_PREFIX.length(), fileName.length() - SPRITE_FILE_SUFFIX.length()));
+    }
+
+    private static int[] readImageSize(Path image) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(image.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("UNKNOWN IMAGE FORMAT: " + image);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String formatTime(int seconds) {
+        return String.format("%02d:%02d:%02d.000", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+}
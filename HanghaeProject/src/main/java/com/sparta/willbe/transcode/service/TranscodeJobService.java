@@ -0,0 +1,189 @@
+package com.sparta.willbe.transcode.service;
+
+import com.sparta.willbe.home.service.HomeChangedEvent;
+import com.sparta.willbe.interview.exception.InterviewForbiddenGetException;
+import com.sparta.willbe.interview.exception.InterviewNotFoundException;
+import com.sparta.willbe.interview.model.Interview;
+import com.sparta.willbe.interview.repository.InterviewRepository;
+import com.sparta.willbe.transcode.dto.TranscodeJobResponseDto;
+import com.sparta.willbe.transcode.dto.TranscodeOutput;
+import com.sparta.willbe.transcode.exception.TranscodeJobNotFoundException;
+import com.sparta.willbe.transcode.model.TranscodeJob;
+import com.sparta.willbe.transcode.model.TranscodeStatus;
+import com.sparta.willbe.transcode.repository.TranscodeJobRepository;
+import com.sparta.willbe.user.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TranscodeJobService {
+    private final TranscodeJobRepository transcodeJobRepository;
+    private final InterviewRepository interviewRepository;
+    private final FFmpegRunner fFmpegRunner;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${transcode.lease-minutes:15}")
+    private long leaseMinutes;
+
+    @Value("${transcode.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${transcode.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Transactional
+    public TranscodeJob enqueue(Long interviewId, String sourceKey, String posterKey) {
+        String targetKey = sourceKey.replace(".webm", ".mp4");
+        TranscodeJob job = transcodeJobRepository.findByInterviewId(interviewId).orElse(null);
+        if (job != null) {
+            job.requeue(sourceKey, targetKey, posterKey);
+            return job;
+        }
+        return transcodeJobRepository.save(new TranscodeJob(interviewId, sourceKey, targetKey, posterKey));
+    }
+
+    //  가져갈 수 있는 작업을 limit 개 까지 lease 걸어서 가져온다
+    @Transactional
+    public List<TranscodeJob> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidateIds = transcodeJobRepository.findClaimableIds(TranscodeStatus.ACTIVE, now, PageRequest.of(0, limit));
+
+        List<TranscodeJob> claimed = new ArrayList<>();
+        for (Long jobId : candidateIds) {
+            int updated = transcodeJobRepository.acquireLease(jobId, workerId, now.plusMinutes(leaseMinutes), now, TranscodeStatus.ACTIVE);
+            if (updated == 1) {
+                transcodeJobRepository.findById(jobId).ifPresent(claimed::add);
+            }
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void advance(Long jobId, String workerId, TranscodeStatus status) {
+        TranscodeJob job = getLeasedJob(jobId, workerId);
+        job.advance(status, LocalDateTime.now().plusMinutes(leaseMinutes));
+    }
+
+    @Transactional
+    public void renewLeases(Collection<Long> jobIds, String workerId) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        transcodeJobRepository.renewLeases(jobIds, workerId, LocalDateTime.now().plusMinutes(leaseMinutes));
+    }
+
+    //  mp4 업로드 완료 -> 영상은 바로 볼 수 있게 하고 HLS 패키징 단계로
+    @Transactional
+    public void videoUploaded(Long jobId, String workerId, TranscodeOutput output) {
+        TranscodeJob job = getLeasedJob(jobId, workerId);
+        job.advance(TranscodeStatus.PACKAGING, LocalDateTime.now().plusMinutes(leaseMinutes));
+        interviewRepository.findById(job.getInterviewId()).ifPresent(interview -> convert(interview, output));
+    }
+
+    //  output 은 이미 반영했으면 null
+    @Transactional
+    public void complete(Long jobId, String workerId, TranscodeOutput output, boolean hlsPackaged) {
+        TranscodeJob job = getLeasedJob(jobId, workerId);
+        job.done();
+        // 변환 중 인터뷰가 삭제되었을 수 있다
+        interviewRepository.findById(job.getInterviewId()).ifPresent(interview -> {
+            convert(interview, output);
+            if (hlsPackaged) {
+                interview.packageHls();
+            }
+            // 변환이 끝나야 홈 화면에 영상 URL 이 나온다
+            applicationEventPublisher.publishEvent(new HomeChangedEvent("interview " + interview.getId() + " transcoded"));
+        });
+    }
+
+    //  재시도 예정이면 false, 최종 실패면 true
+    @Transactional
+    public boolean fail(Long jobId, String workerId, String error) {
+        TranscodeJob job = getLeasedJob(jobId, workerId);
+        long backoff = backoffSeconds << Math.min(job.getAttempts(), 16);
+        job.failAttempt(error, maxAttempts, LocalDateTime.now().plusSeconds(backoff));
+        if (job.getStatus() == TranscodeStatus.FAILED) {
+            log.error("TRANSCODE JOB {} FAILED AFTER {} ATTEMPTS (INTERVIEW {})", jobId, job.getAttempts(), job.getInterviewId());
+            return true;
+        }
+        log.warn("TRANSCODE JOB {} RETRY IN {}s (ATTEMPT {})", jobId, backoff, job.getAttempts());
+        return false;
+    }
+
+    @Transactional
+    public TranscodeJobResponseDto retry(Long jobId) {
+        TranscodeJob job = transcodeJobRepository.findById(jobId)
+                .orElseThrow(TranscodeJobNotFoundException::new);
+        job.requeue(job.getSourceKey(), job.getTargetKey(), PreviewImageService.getPosterKey(job.getInterviewId()));
+        return new TranscodeJobResponseDto(job);
+    }
+
+    public Page<TranscodeJobResponseDto> getJobs(TranscodeStatus status, Pageable pageable) {
+        Page<TranscodeJob> jobs = status == null
+                ? transcodeJobRepository.findAll(pageable)
+                : transcodeJobRepository.findAllByStatus(status, pageable);
+        return jobs.map(job -> new TranscodeJobResponseDto(job, fFmpegRunner.getProgress(job.getInterviewId())));
+    }
+
+    public Map<TranscodeStatus, Long> countByStatus() {
+        Map<TranscodeStatus, Long> counts = new EnumMap<>(TranscodeStatus.class);
+        for (Object[] row : transcodeJobRepository.countGroupByStatus()) {
+            counts.put((TranscodeStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    public TranscodeJobResponseDto getJobStatus(Long interviewId, User user) {
+        Interview interview = interviewRepository.findById(interviewId)
+                .orElseThrow(InterviewNotFoundException::new);
+        if (!interview.getUser().getId().equals(user.getId()) && !user.isAdmin()) {
+            throw new InterviewForbiddenGetException();
+        }
+        TranscodeJob job = transcodeJobRepository.findByInterviewId(interviewId)
+                .orElseThrow(TranscodeJobNotFoundException::new);
+        return new TranscodeJobResponseDto(job, fFmpegRunner.getProgress(interviewId));
+    }
+
+    //  영상과 포스터를 한 트랜잭션에서 같이 반영 (isThumbnailConverted 는 클라이언트 썸네일 전용이라 건드리지 않는다)
+    private void convert(Interview interview, TranscodeOutput output) {
+        interview.convertVideo();
+        if (output == null) {
+            return;
+        }
+        if (output.getMediaInfo() != null) {
+            interview.updateMediaInfo(output.getMediaInfo());
+        }
+        if (output.getSpriteSheet() != null) {
+            interview.updateSpriteSheet(output.getSpriteSheet());
+        }
+        if (output.getPosterKey() != null) {
+            interview.updatePosterKey(output.getPosterKey());
+        }
+    }
+
+    private TranscodeJob getLeasedJob(Long jobId, String workerId) {
+        TranscodeJob job = transcodeJobRepository.findById(jobId)
+                .orElseThrow(TranscodeJobNotFoundException::new);
+        if (!job.isLeasedBy(workerId)) {
+            throw new IllegalStateException("TRANSCODE JOB " + jobId + " LEASE LOST BY " + workerId);
+        }
+        return job;
+    }
+}
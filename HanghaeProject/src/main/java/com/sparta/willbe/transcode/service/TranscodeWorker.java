@@ -0,0 +1,206 @@
+package com.sparta.willbe.transcode.service;
+
+import com.sparta.willbe.interview.model.MediaInfo;
+import com.sparta.willbe.interview.model.SpriteSheet;
+import com.sparta.willbe.transcode.dto.TranscodeOutput;
+import com.sparta.willbe.interview.service.InterviewConvertService;
+import com.sparta.willbe.transcode.model.TranscodeJob;
+import com.sparta.willbe.transcode.model.TranscodeStatus;
+import io.sentry.Sentry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DB 큐(transcode_job)에서 작업을 가져와 코어 수 만큼의 고정 풀에서 변환한다.
+ * 빈 슬롯 만큼만 lease 를 걸어서 가져가므로 여러 노드가 떠 있어도 한 작업은 한 노드에서만 처리되고,
+ * 노드가 죽으면 lease 가 만료된 뒤 다른 노드가 마지막 stage 부터 이어서 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscodeWorker {
+    private final TranscodeJobService transcodeJobService;
+    private final InterviewConvertService interviewConvertService;
+    private final HlsPackager hlsPackager;
+    private final MediaProber mediaProber;
+    private final PreviewImageService previewImageService;
+
+    @Value("${transcode.worker.threads:0}")
+    private int threads;
+
+    //  stream: S3 -> ffmpeg -> S3 파이프 변환 (실패시 file 모드로), file: 작업 디렉토리에 내려받아 변환
+    @Value("${transcode.mode:stream}")
+    private String mode;
+
+    @Value("${transcode.work-dir:${java.io.tmpdir}/willbe-transcode}")
+    private String workDirPath;
+
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final String workerId = createWorkerId();
+    private Path workDir;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        workDir = Paths.get(workDirPath);
+        Files.createDirectories(workDir);
+
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "transcode-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        log.info("TRANSCODE WORKER {} STARTED WITH {} THREADS IN {}", workerId, threads, workDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 진행중이던 작업은 lease 만료 후 다시 잡힌다
+        executor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${transcode.worker.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            transcodeJobService.renewLeases(new ArrayList<>(running), workerId);
+
+            int free = threads - running.size();
+            if (free <= 0) {
+                return;
+            }
+            List<TranscodeJob> jobs = transcodeJobService.claim(workerId, free);
+            for (TranscodeJob job : jobs) {
+                running.add(job.getId());
+                executor.execute(() -> process(job));
+            }
+        } catch (Exception e) {
+            log.error("TRANSCODE POLL FAIL - {}", e.getMessage());
+        }
+    }
+
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    private void process(TranscodeJob job) {
+        Long jobId = job.getId();
+        Path webmPath = workDir.resolve(jobId + ".webm");
+        Path mp4Path = workDir.resolve(jobId + ".mp4");
+        Path imageDir = workDir.resolve(jobId + "-images");
+
+        try {
+            // 이 노드에 이전 stage 결과물이 남아 있으면 그 다음 stage 부터 이어서
+            TranscodeStatus stage = job.getStatus();
+            boolean uploaded = stage == TranscodeStatus.PACKAGING;
+            boolean converted = stage == TranscodeStatus.UPLOADING && Files.exists(mp4Path);
+            boolean downloaded = converted
+                    || (stage == TranscodeStatus.TRANSCODING || stage == TranscodeStatus.UPLOADING) && Files.exists(webmPath);
+
+            boolean streamed = uploaded;
+            if (!streamed && !downloaded && "stream".equals(mode)) {
+                transcodeJobService.advance(jobId, workerId, TranscodeStatus.TRANSCODING);
+                streamed = interviewConvertService.streamConvert(job.getSourceKey(), job.getTargetKey(), imageDir, job.getInterviewId());
+                if (!streamed) {
+                    log.warn("STREAMING CONVERT FALLBACK TO FILE MODE (JOB {})", jobId);
+                }
+            }
+
+            if (!streamed) {
+                if (!downloaded) {
+                    transcodeJobService.advance(jobId, workerId, TranscodeStatus.DOWNLOADING);
+                    interviewConvertService.download(job.getSourceKey(), webmPath);
+                }
+                if (!converted) {
+                    transcodeJobService.advance(jobId, workerId, TranscodeStatus.TRANSCODING);
+                    interviewConvertService.convert(webmPath, mp4Path, imageDir, job.getInterviewId());
+                }
+                transcodeJobService.advance(jobId, workerId, TranscodeStatus.UPLOADING);
+                interviewConvertService.upload(job.getTargetKey(), mp4Path);
+            }
+
+            // 이어서 하는 PACKAGING 이면 이미 저장되어 있다
+            TranscodeOutput output = uploaded ? null : uploadOutput(job, imageDir);
+
+            if (hlsPackager.isEnabled()) {
+                if (!uploaded) {
+                    transcodeJobService.videoUploaded(jobId, workerId, output);
+                    output = null;
+                }
+                hlsPackager.packageHls(job.getInterviewId(), job.getTargetKey());
+            }
+
+            transcodeJobService.complete(jobId, workerId, output, hlsPackager.isEnabled());
+            interviewConvertService.deleteSource(job.getSourceKey());
+            deleteQuietly(webmPath, mp4Path);
+            previewImageService.clear(imageDir);
+
+            log.info("OBJECT KEY " + job.getSourceKey() + " CONVERT IN " + job.getTargetKey());
+        } catch (Exception e) {
+            log.error("CONVERT FAIL INTERVIEW: {} (JOB {}) - {}", job.getInterviewId(), jobId, e.getMessage());
+            Sentry.captureException(e);
+            try {
+                if (transcodeJobService.fail(jobId, workerId, e.getMessage())) {
+                    deleteQuietly(webmPath, mp4Path);
+                    previewImageService.clear(imageDir);
+                }
+            } catch (Exception failException) {
+                log.error("TRANSCODE JOB {} STATE UPDATE FAIL - {}", jobId, failException.getMessage());
+            }
+        } finally {
+            running.remove(jobId);
+        }
+    }
+
+    private TranscodeOutput uploadOutput(TranscodeJob job, Path imageDir) throws IOException {
+        MediaInfo mediaInfo = mediaProber.probe(job.getTargetKey());
+        String posterKey = previewImageService.uploadPoster(job.getPosterKey(), imageDir) ? job.getPosterKey() : null;
+        SpriteSheet spriteSheet = previewImageService.uploadSprites(job.getInterviewId(), imageDir, mediaInfo);
+        return new TranscodeOutput(mediaInfo, spriteSheet, posterKey);
+    }
+
+    private void deleteQuietly(Path... paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.error("NO SUCH FILE: " + path);
+            }
+        }
+    }
+
+    private static String createWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.sparta.willbe.advice.Success;
 import com.sparta.willbe.home.service.HomeService;
 import com.sparta.willbe.interview.service.InterviewService;
-import com.sparta.willbe.mail.Service.MailService;
 import com.sparta.willbe.security.jwt.TokenResponseDto;
 import com.sparta.willbe.user.dto.UserInfoResponseDto;
 import com.sparta.willbe.user.dto.request.LoginRequestDto;
@@ -38,7 +37,6 @@ public class UserController {
     private final UserRegistryService userRegistryService;
     private final UserProfileService userProfileService;
     private final KakaoUserService kakaoUserService;
-    private final MailService mailService;
     private final InterviewService interviewService;
     private final HomeService homeService;
 
@@ -66,8 +64,9 @@ public class UserController {
         log.debug("SIGN_IN() >> 로그인이 처리되었으므로 토큰을 보내겠습니다.");
 
         //로그인이 오류없이 처리 되었다면 Autorization 토큰을 헤더에 실어 보내준다.
-        TokenResponseDto token = userProfileService.giveToken(loginUser.getEmail());
+        TokenResponseDto token = userProfileService.giveToken(loginUser);
         response.setHeader("Authorization", token.getAuthorization());
+        response.setHeader("Refresh-Token", token.getRefreshToken());
 
         log.info("SIGN_IN() >> {}님이 로그인 했습니다.",loginUser.getUsername());
         return new ResponseEntity<UserInfoResponseDto>(UserInfoResponseDto.builder()
@@ -116,7 +115,6 @@ public class UserController {
             //모든 조건이 충족될경우에 회원가입을 진행한다.
             User register = userRegistryService.registerUser(requestDto);
             log.info("SIGN_UP() >> 회원가입 완료!");
-            mailService.sendEmail(register.getEmail(),register.getToken(),register.getNickname());
             return new ResponseEntity<UserInfoResponseDto>(UserInfoResponseDto.builder()
                     .user(UserInfoResponseDto.UserBody.builder()
                                     .nickname(register.getNickname())
@@ -150,7 +148,8 @@ public class UserController {
     @PostMapping("/signout")
     @ApiOperation(value = "로그아웃")
     @ApiImplicitParam(name = "Authorization", value = "token", dataTypeClass = String.class, paramType = "header", example = "Bearer access_token", required = true)
-    public ResponseEntity<UserInfoResponseDto> logout(HttpServletRequest request ,@AuthenticationPrincipal User user) {
+    public ResponseEntity<UserInfoResponseDto> logout(HttpServletRequest request ,@AuthenticationPrincipal User user,
+                                                      @RequestHeader(value = "Refresh-Token", required = false) String refreshToken) {
         String nickname = user.getNickname();
         String gitHubLink = user.getGithubLink();
         String introduce = user.getIntroduce();
@@ -159,8 +158,8 @@ public class UserController {
         String token = user.getToken();
         String provider = user.getProvider();
 
-        //로그아웃시에 Conttext holder에 있는 사용자 정보 컨텐츠 값을 지줘준다.
-        userProfileService.logout();
+        //로그아웃시에 Conttext holder에 있는 사용자 정보 컨텐츠 값을 지줘준다. (refresh 토큰 family 도 revoke)
+        userProfileService.logout(user, refreshToken);
 
         if(provider.equals("kakao")){
             log.debug("KAKAO_LOGOUT() >> 카카오 로그아웃시작 ");
@@ -231,8 +230,9 @@ public class UserController {
         User user =  kakaoUserService.kakaoLogin(code);
 
         //로그인이 오류없이 처리 되었다면 Autorization 토큰을 헤더에 실어 보내준다.
-        TokenResponseDto token = userProfileService.giveToken(user.getEmail());
+        TokenResponseDto token = userProfileService.giveToken(user);
         response.setHeader("Authorization", token.getAuthorization());
+        response.setHeader("Refresh-Token", token.getRefreshToken());
 
         return new ResponseEntity<>(UserInfoResponseDto.builder()
                 .user(UserInfoResponseDto.UserBody.builder()
@@ -266,8 +266,9 @@ public class UserController {
         //성공했으면 로그인 시켜준다.
 
         log.info("USER CONTROLLER >> 로그인 시켜주는 중 >>  토큰 발급 중 ... ");
-        TokenResponseDto accessToken = userProfileService.giveToken(email);
+        TokenResponseDto accessToken = userProfileService.giveToken(user);
         response.setHeader("Authorization", accessToken.getAuthorization());
+        response.setHeader("Refresh-Token", accessToken.getRefreshToken());
 
         return new ResponseEntity<>(UserInfoResponseDto.builder()
                 .user(UserInfoResponseDto.UserBody.builder()
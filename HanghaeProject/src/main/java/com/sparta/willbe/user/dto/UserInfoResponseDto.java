@@ -14,6 +14,7 @@ public class UserInfoResponseDto {
     private UserBody user;
     private String token;
 
+    @Getter
     @Builder
     public static class UserBody{
         @JsonProperty
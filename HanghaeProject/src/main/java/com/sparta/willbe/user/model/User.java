@@ -96,6 +96,9 @@ public class User extends Timestamped implements UserDetails {
     public String getRoleKey(){
         return this.role.getKey();
     }
+    public boolean isAdmin(){
+        return "ROLE_ADMIN".equals(getRoleKey());
+    }
 
     public void updateInfo(String nickname, String githubLink, String introduce, String profileImageUrl){
         this.nickname = nickname;
@@ -6,6 +6,7 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.*;
 import com.sparta.willbe.interview.service.InterviewService;
+import com.sparta.willbe.security.PrincipalCache;
 import com.sparta.willbe.user.dto.UserInfoResponseDto;
 import com.sparta.willbe.user.dto.UserRequestDto;
 import com.sparta.willbe.user.exception.*;
@@ -36,6 +37,7 @@ public class UserMypageService {
 
     private final UserRepository userRepository;
     private final InterviewService interviewService;
+    private final PrincipalCache principalCache;
 
     @Value("${cloud.aws.credentials.access-key-upload}")
     private String accessKey;
@@ -59,10 +61,11 @@ public class UserMypageService {
     }
 
     @Transactional
-    public UserInfoResponseDto save(UserRequestDto requestDto, User user, String profileImageString) throws IOException {
+    public UserInfoResponseDto save(UserRequestDto requestDto, User loginUser, String profileImageString) throws IOException {
         String profileImageUrl = null;
 
-        userRepository.findById(user.getId()).orElseThrow(
+        // loginUser 는 PrincipalCache 가 다른 요청과 같이 쓰는 객체라 고치지 않고, 이 트랜잭션에서 새로 읽은 것을 고친다
+        User user = userRepository.findById(loginUser.getId()).orElseThrow(
                 () -> new UserNotFoundException());
 
         //닉네임을 입력 안했으면, 랜덤 닉네임 저장
@@ -123,7 +126,9 @@ public class UserMypageService {
             //profileImageUrl = saveFile(requestDto.getProfileImage(), user.getId());
 
         }
-        
+
+        // 커밋 뒤에 캐시된 로그인 유저를 다시 읽게 한다
+        principalCache.invalidateAfterCommit(user.getEmail());
         if (profileImageString != null && profileImageString.equals("undefined")) {
             user.updateInfo(requestDto.getNickname(), requestDto.getGithubLink(),
                     requestDto.getIntroduce(), user.getProfileImageUrl());
@@ -1,5 +1,7 @@
 package com.sparta.willbe.user.service.registerService;
 
+import com.sparta.willbe.security.PrincipalCache;
+import com.sparta.willbe.token.service.RefreshTokenService;
 import com.sparta.willbe.user.exception.*;
 import com.sparta.willbe.user.model.User;
 import com.sparta.willbe.security.jwt.JwtTokenProvider;
@@ -23,6 +25,8 @@ public class UserProfileService {
     private final KakaoUserService kakaoUserService;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Transactional
     //login 성공시에 TokenResponseDto를 반환하면 controller 에서 헤더에 실어 보내준다.
@@ -43,10 +47,12 @@ public class UserProfileService {
     }
 
     @Transactional
-    public TokenResponseDto giveToken(String email){
-        String accessToken = jwtTokenProvider.createAccessToken(email);
+    // access 토큰 + 새 family 의 refresh 토큰 (access 토큰 만료시 /token/refresh 로 재발급)
+    public TokenResponseDto giveToken(User user){
+        String accessToken = jwtTokenProvider.createAccessToken(user.getEmail());
         return TokenResponseDto.builder()
                 .Authorization("BEARER " + accessToken)
+                .refreshToken(refreshTokenService.issue(user.getId()))
                 .build();
     }
     @Transactional
@@ -54,6 +60,13 @@ public class UserProfileService {
         SecurityContextHolder.clearContext();
     }
 
+    // /signout : 이 로그인에서 받은 refresh 토큰도 더 못 쓰게 한다
+    @Transactional
+    public void logout(User user, String refreshToken){
+        refreshTokenService.revokeFamily(refreshToken, user.getId());
+        this.logout();
+    }
+
     @Transactional
     public User deleteUser(User user){
         log.info("DELETE_USER >> delete_user_(service) >> {}에 대해 deleted 접근 중... 현재 isDeleted : {}",
@@ -61,6 +74,8 @@ public class UserProfileService {
         User deleteThis = userRepository.findByEmailAndIsDeletedFalseAndIsValidTrue(user.getEmail())
                 .orElseThrow(() -> new UserNotFoundException());
         deleteThis.setIsDeleted(true);
+        principalCache.invalidateAfterCommit(deleteThis.getEmail());
+        refreshTokenService.revokeAll(deleteThis.getId());
 
         if(deleteThis.getProvider() =="kakao"){
             kakaoUserService.kakaoLogout(deleteThis.getToken());
@@ -82,6 +97,7 @@ public class UserProfileService {
         log.info("CONTORLLER >> SERVICE >> VALIDATE_USER : {} ", validatingUser.getNickname());
         if(validatingUser.getToken().equals(token)) {
             validatingUser.isEmailvalidUser(true);
+            principalCache.invalidateAfterCommit(validatingUser.getEmail());
             log.info("CONTORLLER >> SERVICE >> VALIDATE_USER change is valid to : {} ", validatingUser.getIsValid());
         }else{
             throw new TokenInvalidException();
@@ -1,5 +1,6 @@
 package com.sparta.willbe.user.service.registerService;
 
+import com.sparta.willbe.mail.Service.MailOutboxService;
 import com.sparta.willbe.user.model.User;
 import com.sparta.willbe.user.dto.request.RegisterRequestDto;
 import com.sparta.willbe.user.model.Role;
@@ -18,6 +19,7 @@ import java.util.UUID;
 public class UserRegistryService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MailOutboxService mailOutboxService;
 
     @Transactional
     public User registerUser(RegisterRequestDto requestDto) {
@@ -43,6 +45,8 @@ public class UserRegistryService {
                     .isDeleted(false)
                     .isValid(false)
                     .build());
+        // 인증 메일은 같은 트랜잭션에서 아웃박스에 넣고 MailDispatcher 가 커밋 후에 보낸다
+        mailOutboxService.enqueueVerification(user);
         log.info("SIGN_UP() >> registerUser() >>  return user ");
             return user;
     }
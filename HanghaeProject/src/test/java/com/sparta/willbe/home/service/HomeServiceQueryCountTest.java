@@ -0,0 +1,132 @@
+package com.sparta.willbe.home.service;
+
+import com.sparta.willbe.batch.tables.TodayQuestion;
+import com.sparta.willbe.batch.tables.WeeklyInterview;
+import com.sparta.willbe.category.model.CategoryEnum;
+import com.sparta.willbe.interview.dto.InterviewInfoResponseDto;
+import com.sparta.willbe.interview.model.Interview;
+import com.sparta.willbe.interview.service.InterviewService;
+import com.sparta.willbe.question.model.Question;
+import com.sparta.willbe.scrap.service.ScrapIds;
+import com.sparta.willbe.user.model.Role;
+import com.sparta.willbe.user.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+// 홈 섹션이 인터뷰 수와 상관없이 고정된 수의 쿼리로 만들어지는지 확인
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:home;MODE=MySQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(HomeService.class)
+class HomeServiceQueryCountTest {
+
+    @Autowired
+    private HomeService homeService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // 스크랩 id 는 ScrapIdCache 를 거치므로 여기서는 고정값
+    @MockBean
+    private InterviewService interviewService;
+
+    private Statistics statistics;
+    private User loginUser;
+    private Interview scrapped;
+
+    @BeforeEach
+    void setUp() {
+        loginUser = em.persist(user("login@test.com", false));
+        User other = em.persist(user("other@test.com", false));
+        User deleted = em.persist(user("deleted@test.com", true));
+        Question question = em.persist(new Question("contents", "reference", CategoryEnum.Java));
+
+        Interview mine = em.persist(interview("mine", loginUser, question));
+        scrapped = em.persist(interview("scrapped", other, question));
+        Interview third = em.persist(interview("third", other, question));
+        Interview ofDeleted = em.persist(interview("deleted", deleted, question));
+        em.persist(interview("latest", other, question));
+
+        em.persist(new WeeklyInterview(scrapped.getId(), 3L, "NONE", "06월2주 면접왕 1등"));
+        em.persist(new WeeklyInterview(ofDeleted.getId(), 2L, "NONE", "06월2주 면접왕 2등"));
+        em.persist(new WeeklyInterview(mine.getId(), 1L, "NONE", "06월2주 면접왕 3등"));
+        em.persist(new WeeklyInterview(third.getId(), 1L, "NONE", "06월2주 면접왕 4등"));
+        for (int i = 0; i < 3; i++) {
+            em.persist(new TodayQuestion(question));
+        }
+        em.flush();
+        em.clear();
+
+        given(interviewService.getScrapedInterviewIds(any()))
+                .willReturn(ScrapIds.of(Arrays.asList(scrapped.getId())));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void latestInterviewIsOneQuery() {
+        List<InterviewInfoResponseDto.Data> latest = homeService.getLatestInterview(loginUser);
+
+        assertThat(latest).hasSize(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(latest).filteredOn(InterviewInfoResponseDto.Data::getIsMine)
+                .allMatch(data -> data.getUser().getId().equals(loginUser.getId()));
+    }
+
+    @Test
+    void weeklyInterviewIsOneQuery() {
+        List<InterviewInfoResponseDto.Data> weekly = homeService.getWeeklyInterview(loginUser);
+
+        // 탈퇴한 회원 인터뷰는 빠지고 등수는 당겨진다
+        assertThat(weekly).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(weekly.get(0).getId()).isEqualTo(scrapped.getId());
+        assertThat(weekly.get(0).getScrapsMe()).isTrue();
+        assertThat(weekly.get(1).getIsMine()).isTrue();
+        assertThat(weekly.get(1).getBadge()).endsWith("2등");
+    }
+
+    @Test
+    void todayQuestionIsOneQuery() {
+        assertThat(homeService.getTodayQuestion()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static User user(String email, boolean isDeleted) {
+        return User.builder()
+                .nickname(email)
+                .password("password")
+                .email(email)
+                .isValid(true)
+                .provider("test")
+                .isDeleted(isDeleted)
+                .role(Role.GUEST)
+                .build();
+    }
+
+    private static Interview interview(String key, User user, Question question) {
+        return new Interview("videos/" + key + ".webm", "thumbnails/" + key + ".png", user)
+                .complete("", true, question, "videos/" + key + ".mp4", "rethumbnails/" + key + ".png");
+    }
+}
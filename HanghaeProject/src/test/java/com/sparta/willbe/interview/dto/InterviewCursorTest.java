@@ -0,0 +1,61 @@
+package com.sparta.willbe.interview.dto;
+
+import com.sparta.willbe._global.pagination.exception.PaginationCursorInvalidException;
+import com.sparta.willbe.interview.model.Interview;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InterviewCursorTest {
+
+    @Test
+    void createdAtRoundTripKeepsNanos() {
+        LocalDateTime createdAt = LocalDateTime.of(2022, 6, 14, 21, 3, 7, 123_456_789);
+        Interview interview = new Interview("videos/a.webm", "thumbnails/a.png", null);
+        ReflectionTestUtils.setField(interview, "id", 42L);
+        ReflectionTestUtils.setField(interview, "createdAt", createdAt);
+
+        InterviewCursor decoded = InterviewCursor.decode(InterviewCursor.ofCreatedAt(interview).encode());
+
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    void scrapCountRoundTrip() {
+        InterviewCursor decoded = InterviewCursor.decode(new InterviewCursor(0, 7).encode());
+
+        assertThat(decoded.getKey()).isZero();
+        assertThat(decoded.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void garbageIsRejected() {
+        assertInvalid("not base64 !!");
+        assertInvalid(raw("no-separator"));
+        assertInvalid(raw("abc:1"));
+        assertInvalid(raw("1:"));
+        assertInvalid(raw("99999999999999999999:1"));
+    }
+
+    @Test
+    void outOfRangeIsRejected() {
+        assertInvalid(raw("-1:1"));
+        assertInvalid(raw("1:0"));
+        assertInvalid(raw("1:-5"));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> InterviewCursor.decode(cursor)).isInstanceOf(PaginationCursorInvalidException.class);
+    }
+}
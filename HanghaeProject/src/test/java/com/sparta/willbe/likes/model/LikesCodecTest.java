@@ -0,0 +1,56 @@
+package com.sparta.willbe.likes.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LikesCodecTest {
+
+    @Test
+    void roundTrip() {
+        int[] buckets = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, 3};
+
+        assertThat(LikesCodec.decode(LikesCodec.encode(buckets))).containsExactly(buckets);
+    }
+
+    @Test
+    void smallValuesAreOneByteEach() {
+        // 버전 1 + 구간 수 1 + 구간 3개
+        assertThat(LikesCodec.encode(new int[]{0, 5, 127})).hasSize(5);
+    }
+
+    @Test
+    void trailingZeroBucketsAreNotStored() {
+        byte[] data = LikesCodec.encode(new int[]{4, 2, 0, 0, 0});
+
+        assertThat(LikesCodec.size(data)).isEqualTo(2);
+        assertThat(LikesCodec.decode(data)).containsExactly(4, 2);
+    }
+
+    @Test
+    void emptyAndNull() {
+        assertThat(LikesCodec.decode(LikesCodec.encode(new int[0]))).isEmpty();
+        assertThat(LikesCodec.decode(LikesCodec.encode(new int[]{0, 0}))).isEmpty();
+        assertThat(LikesCodec.size(null)).isZero();
+        assertThat(LikesCodec.decode(null)).isEmpty();
+        assertThat(LikesCodec.decodeInto(new byte[0], new int[3])).isZero();
+    }
+
+    @Test
+    void decodeIntoShorterTargetStillCountsTotal() {
+        byte[] data = LikesCodec.encode(new int[]{1, 2, 300, 4});
+        int[] target = new int[2];
+
+        assertThat(LikesCodec.decodeInto(data, target)).isEqualTo(307);
+        assertThat(target).containsExactly(1, 2);
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        byte[] data = LikesCodec.encode(new int[]{1, 2});
+        data[0] = 2;
+
+        assertThatThrownBy(() -> LikesCodec.decode(data)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.sparta.willbe.likes.service;
+
+import com.sparta.willbe.interview.model.Interview;
+import com.sparta.willbe.interview.repository.InterviewRepository;
+import com.sparta.willbe.likes.model.Likes;
+import com.sparta.willbe.likes.model.LikesCodec;
+import com.sparta.willbe.likes.repository.LikesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class LikesEngineTest {
+    private static final Long INTERVIEW_ID = 1L;
+
+    @Mock
+    private LikesRepository likesRepository;
+
+    @Mock
+    private InterviewRepository interviewRepository;
+
+    @Mock
+    private LikesMigrationService likesMigrationService;
+
+    // 트랜잭션은 흉내만 낸다 (execute 안의 merge 는 그대로 실행된다)
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LikesEngine likesEngine;
+
+    private Likes likes;
+
+    @BeforeEach
+    void setUp() {
+        likesEngine.init();
+        ReflectionTestUtils.setField(likesEngine, "syncMillis", 60_000L);
+        // 바로 idle 로 보고 내리는 경로를 탄다
+        ReflectionTestUtils.setField(likesEngine, "idleMillis", 0L);
+
+        Interview interview = new Interview("videos/a.webm", "thumbnails/a.png", null);
+        likes = Likes.builder().interview(interview).build();
+        given(interviewRepository.findById(INTERVIEW_ID)).willReturn(Optional.of(interview));
+        given(likesRepository.findByInterviewId(INTERVIEW_ID)).willReturn(likes);
+    }
+
+    @Test
+    void idleCounterIsFlushedAndDropped() {
+        given(likesRepository.findByInterviewIdForUpdate(INTERVIEW_ID)).willReturn(Optional.of(likes));
+        likesEngine.add(INTERVIEW_ID, 2, 5);
+
+        likesEngine.flush();
+
+        assertThat(likesEngine.getCounterCount()).isZero();
+        assertThat(LikesCodec.decode(likes.getBuckets())).containsExactly(0, 0, 5);
+    }
+
+    @Test
+    void failedMergeOnIdlePathKeepsLikes() {
+        given(likesRepository.findByInterviewIdForUpdate(INTERVIEW_ID))
+                .willThrow(new QueryTimeoutException("db down"))
+                .willReturn(Optional.of(likes));
+        LikesCounter counter = likesEngine.add(INTERVIEW_ID, 2, 5);
+
+        likesEngine.flush();
+
+        // 저장 못 한 카운터가 다시 map 에 있고, 좋아요도 남아 있다
+        assertThat(likesEngine.getCounterCount()).isEqualTo(1);
+        assertThat(likesEngine.getCounter(INTERVIEW_ID)).isSameAs(counter);
+        assertThat(counter.hasPending()).isTrue();
+        assertThat(counter.get(2)).isEqualTo(5);
+        // 되돌린 카운터는 다시 좋아요를 받는다
+        assertThat(counter.add(2, 1)).isTrue();
+
+        likesEngine.flush();
+
+        assertThat(likesEngine.getCounterCount()).isZero();
+        assertThat(LikesCodec.decode(likes.getBuckets())).containsExactly(0, 0, 6);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sparta.willbe.likes.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LikesMigrationServiceTest {
+
+    private final LikesMigrationService likesMigrationService = new LikesMigrationService(null, new ObjectMapper(), null);
+
+    @Test
+    void readsLegacyJson() {
+        assertThat(likesMigrationService.readLegacy("{\"0\":2,\"3\":5}")).containsExactly(2, 0, 0, 5);
+    }
+
+    @Test
+    void brokenOrNegativeValuesAreIgnored() {
+        assertThat(likesMigrationService.readLegacy("not json")).isEmpty();
+        assertThat(likesMigrationService.readLegacy(null)).isEmpty();
+        assertThat(likesMigrationService.readLegacy("{\"-1\":3,\"1\":-4}")).containsExactly(0, 0);
+    }
+
+    @Test
+    void hugeBucketIsClampedToLastBucket() {
+        int last = LikesEngine.DEFAULT_BUCKETS - 1;
+
+        int[] buckets = likesMigrationService.readLegacy("{\"1\":1,\"2000000000\":3,\"" + (last + 1) + "\":4}");
+
+        assertThat(buckets).hasSize(LikesEngine.DEFAULT_BUCKETS);
+        assertThat(buckets[1]).isEqualTo(1);
+        assertThat(buckets[last]).isEqualTo(7);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sparta.willbe.likes.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LikesRateLimiterTest {
+
+    private static LikesRateLimiter limiter(int perSecond, int burst) {
+        LikesRateLimiter limiter = new LikesRateLimiter();
+        ReflectionTestUtils.setField(limiter, "perSecond", perSecond);
+        ReflectionTestUtils.setField(limiter, "burst", burst);
+        return limiter;
+    }
+
+    @Test
+    void newBucketGrantsUpToBurstThenThrottles() {
+        // 초당 1개라 테스트 도중에는 새로 차지 않는다
+        LikesRateLimiter limiter = limiter(1, 3);
+
+        assertThat(limiter.acquire(1L, 1L, 2)).isEqualTo(2);
+        assertThat(limiter.acquire(1L, 1L, 5)).isEqualTo(1);
+        assertThat(limiter.acquire(1L, 1L, 1)).isZero();
+
+        LikesRateLimiter.Stats stats = limiter.getStats();
+        assertThat(stats.getRequests()).isEqualTo(3);
+        assertThat(stats.getThrottledRequests()).isEqualTo(2);
+        assertThat(stats.getRequestedLikes()).isEqualTo(8);
+        assertThat(stats.getGrantedLikes()).isEqualTo(3);
+    }
+
+    @Test
+    void bucketsAreSeparatePerUserAndInterview() {
+        LikesRateLimiter limiter = limiter(1, 2);
+
+        assertThat(limiter.acquire(1L, 1L, 2)).isEqualTo(2);
+        assertThat(limiter.acquire(1L, 2L, 2)).isEqualTo(2);
+        assertThat(limiter.acquire(2L, 1L, 2)).isEqualTo(2);
+        assertThat(limiter.acquire(1L, 1L, 1)).isZero();
+        assertThat(limiter.getStats().getActiveBuckets()).isEqualTo(3);
+    }
+
+    @Test
+    void refillsOverTimeButNeverPastBurst() throws InterruptedException {
+        // 10ms 에 1개
+        LikesRateLimiter limiter = limiter(100, 2);
+
+        assertThat(limiter.acquire(1L, 1L, 2)).isEqualTo(2);
+        Thread.sleep(100);
+
+        assertThat(limiter.acquire(1L, 1L, 10)).isEqualTo(2);
+    }
+
+    @Test
+    void cleanupDropsFullBucketsOnly() throws InterruptedException {
+        LikesRateLimiter fast = limiter(100, 2);
+        fast.acquire(1L, 1L, 1);
+        LikesRateLimiter slow = limiter(1, 2);
+        slow.acquire(1L, 1L, 2);
+        Thread.sleep(50);
+
+        fast.cleanup();
+        slow.cleanup();
+
+        // fast 는 다시 다 찼고, slow 는 아직 2초를 기다려야 한다
+        assertThat(fast.getStats().getActiveBuckets()).isZero();
+        assertThat(slow.getStats().getActiveBuckets()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.sparta.willbe.mail.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailTemplateTest {
+
+    @Test
+    void replacesVariables() {
+        MailTemplate template = MailTemplate.parse("<p>${NICKNAME}님, <a href=\"${LINK}\">인증</a> ${NICKNAME}</p>");
+
+        assertThat(template.render(values("NICKNAME", "윌비", "LINK", "https://test/validate")))
+                .isEqualTo("<p>윌비님, <a href=\"https://test/validate\">인증</a> 윌비</p>");
+    }
+
+    @Test
+    void unknownVariablesAreKept() {
+        MailTemplate template = MailTemplate.parse("${A}-${MISSING}-${A}");
+
+        assertThat(template.render(values("A", "1"))).isEqualTo("1-${MISSING}-1");
+    }
+
+    @Test
+    void valuesAreNotScannedAgain() {
+        MailTemplate template = MailTemplate.parse("hello ${NAME}");
+
+        assertThat(template.render(values("NAME", "${LINK}", "LINK", "x"))).isEqualTo("hello ${LINK}");
+    }
+
+    @Test
+    void textWithoutVariablesOrUnclosedVariable() {
+        assertThat(MailTemplate.parse("").render(Collections.emptyMap())).isEmpty();
+        assertThat(MailTemplate.parse("plain").render(Collections.emptyMap())).isEqualTo("plain");
+        assertThat(MailTemplate.parse("a ${B} ${C").render(values("B", "b"))).isEqualTo("a b ${C");
+    }
+
+    @Test
+    void renderAllKeepsEachResult() {
+        MailTemplate template = MailTemplate.parse("to ${NAME}");
+
+        assertThat(template.renderAll(Arrays.asList(values("NAME", "a"), values("NAME", "bb"), values())))
+                .containsExactly("to a", "to bb", "to ${NAME}");
+        assertThat(template.renderAll(Collections.emptyList())).isEmpty();
+    }
+
+    private static Map<String, String> values(String... keyValues) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            values.put(keyValues[i], keyValues[i + 1]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,100 @@
+package com.sparta.willbe.security;
+
+import com.sparta.willbe.security.jwt.JwtTokenProvider;
+import com.sparta.willbe.user.model.Role;
+import com.sparta.willbe.user.model.User;
+import io.jsonwebtoken.Claims;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.Authentication;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 토큰이 붙은 요청 하나가 인증 때문에 user 테이블을 몇 번 읽는지
+// before : getAuthentication 마다 UserDetailsService 로 1번
+// after  : ttl 안에서는 처음 한 번만, 지운(invalidate) 뒤에는 다시 1번
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:principal;MODE=MySQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({JwtTokenProvider.class, PrincipalCache.class, UserDetailsServiceImpl.class})
+class PrincipalCacheQueryCountTest {
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Claims claims;
+
+    @BeforeEach
+    void setUp() {
+        em.persist(User.builder()
+                .nickname("login")
+                .password("password")
+                .email("login@test.com")
+                .isValid(true)
+                .provider("test")
+                .isDeleted(false)
+                .role(Role.GUEST)
+                .build());
+        em.flush();
+        em.clear();
+
+        claims = jwtTokenProvider.getClaims(jwtTokenProvider.createAccessToken("login@test.com"));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void withoutCacheEveryRequestQueries() {
+        userDetailsService.loadUserByUsername(claims.getSubject());
+        userDetailsService.loadUserByUsername(claims.getSubject());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void secondRequestDoesNotQuery() {
+        Authentication first = jwtTokenProvider.getAuthentication(claims);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Authentication second = jwtTokenProvider.getAuthentication(claims);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(((User) second.getPrincipal()).getEmail()).isEqualTo("login@test.com");
+        assertThat(second.getPrincipal()).isSameAs(first.getPrincipal());
+        assertThat(principalCache.getStats().getHits()).isEqualTo(1);
+        assertThat(principalCache.getStats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatedUserIsReadAgain() {
+        jwtTokenProvider.getAuthentication(claims);
+        principalCache.invalidate(claims.getSubject());
+        jwtTokenProvider.getAuthentication(claims);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,158 @@
+package com.sparta.willbe.token.service;
+
+import com.sparta.willbe.security.jwt.JwtTokenProvider;
+import com.sparta.willbe.security.jwt.TokenResponseDto;
+import com.sparta.willbe.token.exception.RefreshTokenInvalidException;
+import com.sparta.willbe.token.exception.RefreshTokenReusedException;
+import com.sparta.willbe.token.model.RefreshToken;
+import com.sparta.willbe.token.repository.RefreshTokenRepository;
+import com.sparta.willbe.user.model.Role;
+import com.sparta.willbe.user.model.User;
+import com.sparta.willbe.user.repository.UserRepository;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+    private static final String TOKEN = "refresh-token";
+    private static final String FAMILY = "family-1";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "validMillis", 60_000L);
+        ReflectionTestUtils.setField(refreshTokenService, "reuseGraceMillis", 10_000L);
+
+        user = User.builder()
+                .nickname("nickname")
+                .password("password")
+                .email("user@test.com")
+                .isValid(true)
+                .provider("test")
+                .isDeleted(false)
+                .role(Role.GUEST)
+                .build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+    }
+
+    @Test
+    void refreshRotatesInTheSameFamily() {
+        RefreshToken stored = stored(null);
+        given(refreshTokenRepository.findByTokenHashForUpdate(DigestUtils.sha256Hex(TOKEN))).willReturn(Optional.of(stored));
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(jwtTokenProvider.createAccessToken("user@test.com")).willReturn("access");
+
+        TokenResponseDto response = refreshTokenService.refresh(TOKEN);
+
+        assertThat(response.getAuthorization()).isEqualTo("BEARER access");
+        assertThat(response.getRefreshToken()).isNotEqualTo(TOKEN);
+        assertThat(stored.isUsed()).isTrue();
+
+        RefreshToken next = savedToken();
+        assertThat(next.getFamilyId()).isEqualTo(FAMILY);
+        assertThat(next.getTokenHash()).isEqualTo(DigestUtils.sha256Hex(response.getRefreshToken()));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void reuseAfterGraceRevokesFamily() {
+        RefreshToken stored = stored(LocalDateTime.now().minusMinutes(1));
+        given(refreshTokenRepository.findByTokenHashForUpdate(DigestUtils.sha256Hex(TOKEN))).willReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(TOKEN)).isInstanceOf(RefreshTokenReusedException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void concurrentRefreshWithinGraceIsNotReuse() {
+        LocalDateTime usedAt = LocalDateTime.now().minusSeconds(1);
+        RefreshToken stored = stored(usedAt);
+        given(refreshTokenRepository.findByTokenHashForUpdate(DigestUtils.sha256Hex(TOKEN))).willReturn(Optional.of(stored));
+        given(userRepository.findById(1L)).willReturn(Optional.of(user));
+        given(jwtTokenProvider.createAccessToken("user@test.com")).willReturn("access");
+
+        TokenResponseDto response = refreshTokenService.refresh(TOKEN);
+
+        assertThat(response.getRefreshToken()).isNotNull();
+        assertThat(stored.getUsedAt()).isEqualTo(usedAt);
+        assertThat(savedToken().getFamilyId()).isEqualTo(FAMILY);
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void revokedTokenIsInvalid() {
+        RefreshToken revoked = stored(null);
+        ReflectionTestUtils.setField(revoked, "revokedAt", LocalDateTime.now());
+        given(refreshTokenRepository.findByTokenHashForUpdate(DigestUtils.sha256Hex(TOKEN))).willReturn(Optional.of(revoked));
+
+        assertThatThrownBy(() -> refreshTokenService.refresh(TOKEN)).isInstanceOf(RefreshTokenInvalidException.class);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void unknownOrEmptyTokenIsInvalid() {
+        given(refreshTokenRepository.findByTokenHashForUpdate(anyString())).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("other")).isInstanceOf(RefreshTokenInvalidException.class);
+        assertThatThrownBy(() -> refreshTokenService.refresh("")).isInstanceOf(RefreshTokenInvalidException.class);
+    }
+
+    @Test
+    void signoutRevokesOnlyOwnFamily() {
+        given(refreshTokenRepository.findByTokenHashForUpdate(DigestUtils.sha256Hex(TOKEN))).willReturn(Optional.of(stored(null)));
+
+        refreshTokenService.revokeFamily(TOKEN, 2L);
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+
+        refreshTokenService.revokeFamily(TOKEN, 1L);
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY), any());
+    }
+
+    private RefreshToken stored(LocalDateTime usedAt) {
+        RefreshToken token = new RefreshToken(DigestUtils.sha256Hex(TOKEN), FAMILY, 1L, LocalDateTime.now().plusDays(1));
+        if (usedAt != null) {
+            token.use(usedAt);
+        }
+        return token;
+    }
+
+    private RefreshToken savedToken() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}